@@ -9,12 +9,15 @@ package ability;
 
 import enemy.Enemy;
 import manager.ParticleManager;
+import profiling.BeamEvent;
+import util.GameClock;
 
 import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Graphics2D;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class BeamAbility {
     private static final double BEAM_DURATION_SECONDS = 3.0; // beam travels for 3 seconds
@@ -23,188 +26,359 @@ public class BeamAbility {
     private static final double KILL_RADIUS = 30.0; // how close beam must be to kill enemy
     private static final Color BEAM_HEAD_COLOR = new Color(255, 200, 100, 255);
     private static final Color BEAM_TAIL_COLOR = new Color(255, 150, 50, 180);
+    private static final Color PATH_OUTLINE_COLOR = new Color(BEAM_COLOR.getRed(), BEAM_COLOR.getGreen(),
+            BEAM_COLOR.getBlue(), 60);
+    private static final BasicStroke PATH_OUTLINE_STROKE = new BasicStroke((float) (BEAM_WIDTH * 0.4f),
+            BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
+    private static final BasicStroke BEAM_STROKE = new BasicStroke((float) BEAM_WIDTH,
+            BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
+    private static final int GLOW_SIZE = 25;
+    private static final int INITIAL_CAPACITY = 64;
 
     private boolean isActive = false;
     private long startTime;
-    private List<double[]> path;
-    private List<Double> cumulativeDistances;
+
+    // target points the tours are built from, copied on activate
+    private double startX;
+    private double startY;
+    private double[] pointX = new double[INITIAL_CAPACITY];
+    private double[] pointY = new double[INITIAL_CAPACITY];
+    private int pointCount;
+
+    // path start -> points -> start, with the distance along the path at each
+    // vertex; arrays only grow so repeat activations allocate nothing
+    private double[] pathX = new double[INITIAL_CAPACITY + 2];
+    private double[] pathY = new double[INITIAL_CAPACITY + 2];
+    private double[] cumulativeDistances = new double[INITIAL_CAPACITY + 2];
+    private int pathSize;
     private double totalPathLength;
-    private List<Enemy> targetEnemies;
-    private List<Boolean> enemiesKilled;
+
+    private Enemy[] targetEnemies = new Enemy[INITIAL_CAPACITY];
+    private boolean[] enemiesKilled = new boolean[INITIAL_CAPACITY];
+    // each target's generation at activation; a mismatch means it died and
+    // was recycled into a new enemy, which the beam must leave alone
+    private int[] targetGenerations = new int[INITIAL_CAPACITY];
+    private int targetCount;
     private ParticleManager particleManager;
+    private final GameClock clock;
+
+    // the head is anchorDistance along the path at anchorTime and moves at
+    // headSpeed units per second; a swapped-in path re-anchors it so the beam
+    // still ends on time
+    private double anchorDistance;
+    private long anchorTime;
+    private double headSpeed;
+    private double lastCheckedDistance; // head distance at the previous kill check
+
+    // a better tour solved off the loop thread, picked up on the next update
+    private final AtomicReference<RefinedPath> refinedPath = new AtomicReference<>();
+    private long activation; // bumped on every activate so late solves are dropped
+    private BeamEvent beamEvent; // open while the beam runs, for the flight recorder
+
+    private static final class RefinedPath {
+        final long activation;
+        final int[] order;
+
+        RefinedPath(long activation, int[] order) {
+            this.activation = activation;
+            this.order = order;
+        }
+    }
 
-    // constructor initializes empty lists for path tracking and enemy management
-    public BeamAbility() {
-        path = new ArrayList<>();
-        cumulativeDistances = new ArrayList<>();
-        targetEnemies = new ArrayList<>();
-        enemiesKilled = new ArrayList<>();
+    public BeamAbility(GameClock clock) {
+        this.clock = clock;
     }
 
-    // starts the beam with given path and targets, records start time for animation
-    public void activate(List<double[]> path, List<Enemy> enemiesToKill, ParticleManager particleManager) {
-        this.path = new ArrayList<>(path);
-        this.targetEnemies = new ArrayList<>(enemiesToKill);
+    // starts the beam from the start point through points 0..n-1 in the given
+    // order and back, records start time for animation
+    // returns an id to pass to offerRefinedPath for this activation
+    public long activate(double startX, double startY, double[] xs, double[] ys, int n, int[] order,
+            List<Enemy> enemiesToKill, ParticleManager particleManager) {
+        this.startX = startX;
+        this.startY = startY;
+        if (pointX.length < n) {
+            pointX = new double[n];
+            pointY = new double[n];
+        }
+        System.arraycopy(xs, 0, pointX, 0, n);
+        System.arraycopy(ys, 0, pointY, 0, n);
+        pointCount = n;
+        buildPath(order);
+
+        int targets = enemiesToKill.size();
+        if (targetEnemies.length < targets) {
+            targetEnemies = new Enemy[targets];
+            enemiesKilled = new boolean[targets];
+            targetGenerations = new int[targets];
+        }
+        for (int i = 0; i < targets; i++) {
+            Enemy enemy = enemiesToKill.get(i);
+            targetEnemies[i] = enemy;
+            enemiesKilled[i] = enemy == null || !enemy.isAlive();
+            targetGenerations[i] = enemy == null ? 0 : enemy.getGeneration();
+        }
+        if (targetCount > targets) {
+            Arrays.fill(targetEnemies, targets, targetCount, null); // drop stale references
+        }
+        targetCount = targets;
+
         this.particleManager = particleManager;
         this.isActive = true;
-        this.startTime = System.currentTimeMillis();
-        this.enemiesKilled.clear();
-        for (int i = 0; i < enemiesToKill.size(); i++) {
-            enemiesKilled.add(enemiesToKill.get(i) == null || !enemiesToKill.get(i).isAlive());
-        }
-        calculatePathMetrics();
+        this.startTime = clock.millis();
+        anchorDistance = 0;
+        anchorTime = startTime;
+        headSpeed = totalPathLength / BEAM_DURATION_SECONDS;
+        lastCheckedDistance = 0;
+        refinedPath.set(null);
+
+        finishBeamEvent();
+        beamEvent = new BeamEvent();
+        beamEvent.begin();
+        beamEvent.targets = targets;
+        beamEvent.greedyPathLength = totalPathLength;
+        return ++activation;
+    }
+
+    // hands over a better visiting order for the given activation, safe to call
+    // from any thread; it only takes effect once applyRefinedPath is called,
+    // and only if the head hasn't reached the first segment that differs from
+    // the path being traced. a late result never replaces a newer one
+    public void offerRefinedPath(long activation, int[] order) {
+        RefinedPath offered = new RefinedPath(activation, order);
+        refinedPath.accumulateAndGet(offered,
+                (current, next) -> current != null && current.activation > next.activation ? current : next);
+    }
+
+    // true when a refined tour for the current activation is waiting; the
+    // caller decides on which step to apply it, so a replay can apply it on
+    // the same step the recorded game did
+    public boolean hasRefinedPath() {
+        RefinedPath pending = refinedPath.get();
+        return isActive && pending != null && pending.activation == activation;
     }
 
-    private void calculatePathMetrics() {
-        cumulativeDistances.clear();
-        if (path.size() < 2) {
-            totalPathLength = 0;
+    // swaps in a pending refined tour, called on the loop thread so the path
+    // never changes halfway through an update or draw
+    public void applyRefinedPath() {
+        if (!hasRefinedPath())
             return;
+        RefinedPath refined = refinedPath.getAndSet(null);
+        if (refined == null || refined.activation != activation)
+            return;
+        int[] order = refined.order;
+        if (order.length != pointCount)
+            return;
+
+        // both tours share a prefix up to firstChange, so the segment ending
+        // there is the first one the head would trace differently
+        int firstChange = 1;
+        while (firstChange <= order.length && pathX[firstChange] == pointX[order[firstChange - 1]]
+                && pathY[firstChange] == pointY[order[firstChange - 1]])
+            firstChange++;
+        if (firstChange > order.length)
+            return; // same tour
+
+        long now = clock.millis();
+        double headDistance = headDistance(now);
+        double remainingSeconds = BEAM_DURATION_SECONDS - (now - startTime) / 1000.0;
+        if (headDistance >= cumulativeDistances[firstChange - 1] || remainingSeconds <= 0)
+            return; // too late, keep tracing the greedy path
+
+        // the shared prefix has the same cumulative distances, so the head
+        // stays exactly where it is
+        buildPath(order);
+        anchorDistance = headDistance;
+        anchorTime = now;
+        headSpeed = (totalPathLength - headDistance) / remainingSeconds;
+        if (beamEvent != null)
+            beamEvent.refinedPathLength = totalPathLength;
+    }
+
+    // fills the path arrays from a visiting order and measures them
+    private void buildPath(int[] order) {
+        int size = order.length == 0 ? 1 : order.length + 2;
+        if (pathX.length < size) {
+            pathX = new double[size];
+            pathY = new double[size];
+            cumulativeDistances = new double[size];
+        }
+        pathX[0] = startX;
+        pathY[0] = startY;
+        for (int i = 0; i < order.length; i++) {
+            pathX[i + 1] = pointX[order[i]];
+            pathY[i + 1] = pointY[order[i]];
         }
-        // calculate cumulative distance at each point along the path
-        // this lets us convert a percentage of completion into an exact position later
-        // example: if total path is 1000 units, we can find what segment the beam is in
-        // at distance 600
+        if (order.length > 0) {
+            pathX[size - 1] = startX; // return to start point to complete the cycle
+            pathY[size - 1] = startY;
+        }
+        pathSize = size;
+
+        // cumulative distance at each vertex lets us turn a distance traveled
+        // into a segment with a binary search
         double cumulative = 0;
-        cumulativeDistances.add(0.0); // starting point is always at distance 0
-        for (int i = 0; i < path.size() - 1; i++) {
-            double[] p1 = path.get(i), p2 = path.get(i + 1);
-            cumulative += dist(p1[0], p1[1], p2[0], p2[1]); // add distance of this segment
-            cumulativeDistances.add(cumulative); // store total distance traveled up to this point
+        cumulativeDistances[0] = 0;
+        for (int i = 1; i < size; i++) {
+            cumulative += dist(pathX[i - 1], pathY[i - 1], pathX[i], pathY[i]);
+            cumulativeDistances[i] = cumulative;
         }
         totalPathLength = cumulative;
     }
 
+    // distance the head has traveled along the path at the given time
+    private double headDistance(long now) {
+        return Math.min(totalPathLength, anchorDistance + (now - anchorTime) / 1000.0 * headSpeed);
+    }
+
+    // index of the segment (vertex i to i + 1) containing the given distance
+    private int segmentAt(double distance) {
+        int low = 0;
+        int high = pathSize - 2;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (cumulativeDistances[mid] <= distance) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    // position along segment at the given distance, clamped to its end points
+    private double interpolateX(int segment, double distance) {
+        return pathX[segment] + (pathX[segment + 1] - pathX[segment]) * segmentProgress(segment, distance);
+    }
+
+    private double interpolateY(int segment, double distance) {
+        return pathY[segment] + (pathY[segment + 1] - pathY[segment]) * segmentProgress(segment, distance);
+    }
+
+    private double segmentProgress(int segment, double distance) {
+        double segmentLength = cumulativeDistances[segment + 1] - cumulativeDistances[segment];
+        if (segmentLength <= 0)
+            return 0;
+        double progress = (distance - cumulativeDistances[segment]) / segmentLength;
+        return Math.max(0, Math.min(1, progress));
+    }
+
     // updates beam state each frame, returns true if still active
     public boolean update(double deltaSeconds) {
         if (!isActive)
             return false;
-        double elapsed = (System.currentTimeMillis() - startTime) / 1000.0;
+        double elapsed = (clock.millis() - startTime) / 1000.0;
         if (elapsed >= BEAM_DURATION_SECONDS) {
-            for (int i = 0; i < targetEnemies.size(); i++) {
-                if (!enemiesKilled.get(i))
-                    killEnemy(targetEnemies.get(i), i);
+            for (int i = 0; i < targetCount; i++) {
+                if (!enemiesKilled[i])
+                    killEnemy(targetEnemies[i], i);
             }
             isActive = false;
+            finishBeamEvent();
             return false;
         }
         checkAndKillEnemies();
         return true;
     }
 
-    // checks if beam is close enough to any enemy to kill them
+    // kills every enemy within reach of the stretch of path the head covered
+    // since the last check, so a fast head can't skip over anyone between frames
     private void checkAndKillEnemies() {
-        double[] pos = getCurrentPosition();
-        for (int i = 0; i < targetEnemies.size(); i++) {
-            if (enemiesKilled.get(i))
-                continue;
-            Enemy e = targetEnemies.get(i);
-            if (e == null || !e.isAlive()) {
-                enemiesKilled.set(i, true);
-                continue;
-            }
-            if (dist(pos[0], pos[1], e.getX(), e.getY()) <= KILL_RADIUS) {
-                killEnemy(e, i);
+        if (pathSize < 2)
+            return;
+        double from = lastCheckedDistance;
+        double to = headDistance(clock.millis());
+        lastCheckedDistance = to;
+
+        int lastSegment = segmentAt(to);
+        for (int segment = segmentAt(from); segment <= lastSegment; segment++) {
+            // the part of this segment swept this frame, a capsule of KILL_RADIUS
+            double ax = interpolateX(segment, from);
+            double ay = interpolateY(segment, from);
+            double bx = interpolateX(segment, to);
+            double by = interpolateY(segment, to);
+            for (int i = 0; i < targetCount; i++) {
+                if (enemiesKilled[i])
+                    continue;
+                Enemy e = targetEnemies[i];
+                if (e == null || !e.isAlive() || e.getGeneration() != targetGenerations[i]) {
+                    enemiesKilled[i] = true;
+                    continue;
+                }
+                if (distanceSquaredToSegment(e.getX(), e.getY(), ax, ay, bx, by) <= KILL_RADIUS * KILL_RADIUS) {
+                    killEnemy(e, i);
+                }
             }
         }
     }
 
+    // squared distance from a point to the closest point on segment a-b
+    private static double distanceSquaredToSegment(double px, double py, double ax, double ay,
+            double bx, double by) {
+        double abx = bx - ax, aby = by - ay;
+        double lengthSq = abx * abx + aby * aby;
+        double t = lengthSq == 0 ? 0 : ((px - ax) * abx + (py - ay) * aby) / lengthSq;
+        t = Math.max(0, Math.min(1, t));
+        double dx = px - (ax + abx * t), dy = py - (ay + aby * t);
+        return dx * dx + dy * dy;
+    }
+
     // kills enemy by dealing massive damage and spawns death particles
     private void killEnemy(Enemy enemy, int index) {
-        if (enemy == null || !enemy.isAlive() || enemiesKilled.get(index))
+        if (enemy == null || !enemy.isAlive() || enemiesKilled[index]
+                || enemy.getGeneration() != targetGenerations[index])
             return;
         enemy.takeDamage(enemy.getMaxHealth() * 10);
-        enemiesKilled.set(index, true);
+        enemiesKilled[index] = true;
         if (particleManager != null)
             particleManager.spawnDeathEffect(enemy);
     }
 
-    // returns current x,y position of beam head based on elapsed time
-    public double[] getCurrentPosition() {
-        if (path.isEmpty())
-            return new double[] { 0, 0 };
-        if (path.size() == 1)
-            return path.get(0);
-
-        // figure out how far along the path we should be (0.0 = start, 1.0 = end)
-        double progress = Math.min(1.0, (System.currentTimeMillis() - startTime) / 1000.0 / BEAM_DURATION_SECONDS);
-        // convert percentage into actual distance traveled along the path
-        double targetDist = progress * totalPathLength;
-
-        // find which segment of the path contains our target distance
-        // example: if we've traveled 600 units and segment 2 goes from 500-800, we're
-        // in segment 2
-        int segIdx = 0;
-        for (int i = 0; i < cumulativeDistances.size() - 1; i++) {
-            if (targetDist <= cumulativeDistances.get(i + 1)) {
-                segIdx = i;
-                break;
-            }
-        }
-        if (segIdx >= path.size() - 1)
-            return path.get(path.size() - 1);
+    // current position of the beam head based on elapsed time
+    public double getHeadX() {
+        if (pathSize < 2)
+            return pathSize == 0 ? 0 : pathX[0];
+        double distance = headDistance(clock.millis());
+        return interpolateX(segmentAt(distance), distance);
+    }
 
-        // interpolate position within the segment
-        // if segment goes from 500-800 and we're at 600, we're 33% of the way through
-        // the segment
-        double segStart = cumulativeDistances.get(segIdx);
-        double segEnd = cumulativeDistances.get(segIdx + 1);
-        double segProgress = (targetDist - segStart) / (segEnd - segStart);
-        // use that percentage to blend between the segment's start and end points
-        double[] p1 = path.get(segIdx), p2 = path.get(segIdx + 1);
-        return new double[] { p1[0] + (p2[0] - p1[0]) * segProgress, p1[1] + (p2[1] - p1[1]) * segProgress };
+    public double getHeadY() {
+        if (pathSize < 2)
+            return pathSize == 0 ? 0 : pathY[0];
+        double distance = headDistance(clock.millis());
+        return interpolateY(segmentAt(distance), distance);
     }
 
     // renders the beam trail and glowing head on screen
     public void draw(Graphics2D g2) {
-        if (!isActive || path.size() < 2)
+        if (!isActive || pathSize < 2)
             return;
 
-        double progress = Math.min(1.0, (System.currentTimeMillis() - startTime) / 1000.0 / BEAM_DURATION_SECONDS);
-        double targetDist = progress * totalPathLength;
+        double targetDist = headDistance(clock.millis());
+        int headSegment = segmentAt(targetDist);
+        double headX = interpolateX(headSegment, targetDist);
+        double headY = interpolateY(headSegment, targetDist);
 
         // first pass: draw the full path as a faint outline showing where the beam will
         // travel
-        g2.setColor(new Color(BEAM_COLOR.getRed(), BEAM_COLOR.getGreen(), BEAM_COLOR.getBlue(), 60));
-        g2.setStroke(new BasicStroke((float) (BEAM_WIDTH * 0.4f),
-                BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
-        for (int i = 0; i < path.size() - 1; i++) {
-            double[] p1 = path.get(i), p2 = path.get(i + 1);
-            g2.drawLine((int) p1[0], (int) p1[1], (int) p2[0], (int) p2[1]);
+        g2.setColor(PATH_OUTLINE_COLOR);
+        g2.setStroke(PATH_OUTLINE_STROKE);
+        for (int i = 0; i < pathSize - 1; i++) {
+            g2.drawLine((int) pathX[i], (int) pathY[i], (int) pathX[i + 1], (int) pathY[i + 1]);
         }
 
-        // second pass: draw the bright beam only for the part that's been traveled so
-        // far
+        // second pass: draw the bright beam over every segment the head has passed,
+        // then the traveled part of the one it is in
         g2.setColor(BEAM_COLOR);
-        g2.setStroke(new BasicStroke((float) BEAM_WIDTH,
-                BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
-
-        double[] currentPos = getCurrentPosition();
-        double cumDist = 0;
-        for (int i = 0; i < path.size() - 1; i++) {
-            double[] p1 = path.get(i), p2 = path.get(i + 1);
-            double segDist = cumulativeDistances.get(i + 1) - cumDist;
-            if (cumDist + segDist <= targetDist) {
-                // beam has fully passed through this segment, draw the whole thing
-                g2.drawLine((int) p1[0], (int) p1[1], (int) p2[0], (int) p2[1]);
-            } else if (cumDist < targetDist) {
-                // beam is partway through this segment, only draw up to current position
-                double segProg = (targetDist - cumDist) / segDist;
-                g2.drawLine((int) p1[0], (int) p1[1],
-                        (int) (p1[0] + (p2[0] - p1[0]) * segProg),
-                        (int) (p1[1] + (p2[1] - p1[1]) * segProg));
-                break;
-            } else
-                break; // beam hasn't reached this segment yet
-            cumDist += segDist;
+        g2.setStroke(BEAM_STROKE);
+        for (int i = 0; i < headSegment; i++) {
+            g2.drawLine((int) pathX[i], (int) pathY[i], (int) pathX[i + 1], (int) pathY[i + 1]);
         }
+        g2.drawLine((int) pathX[headSegment], (int) pathY[headSegment], (int) headX, (int) headY);
 
-        int glowSize = 25;
         g2.setColor(BEAM_HEAD_COLOR);
-        g2.fillOval((int) (currentPos[0] - glowSize / 2), (int) (currentPos[1] - glowSize / 2), glowSize, glowSize);
+        g2.fillOval((int) (headX - GLOW_SIZE / 2), (int) (headY - GLOW_SIZE / 2), GLOW_SIZE, GLOW_SIZE);
         g2.setColor(BEAM_TAIL_COLOR);
-        double[] startPos = path.get(0);
-        g2.fillOval((int) (startPos[0] - glowSize / 2), (int) (startPos[1] - glowSize / 2), glowSize, glowSize);
+        g2.fillOval((int) (pathX[0] - GLOW_SIZE / 2), (int) (pathY[0] - GLOW_SIZE / 2), GLOW_SIZE, GLOW_SIZE);
     }
 
     // calculates distance between two points using pythagorean theorem
@@ -221,5 +395,15 @@ public class BeamAbility {
     // stops the beam immediately
     public void deactivate() {
         isActive = false;
+        finishBeamEvent();
+    }
+
+    private void finishBeamEvent() {
+        if (beamEvent == null)
+            return;
+        beamEvent.end();
+        if (beamEvent.shouldCommit())
+            beamEvent.commit();
+        beamEvent = null;
     }
 }
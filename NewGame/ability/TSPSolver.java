@@ -7,16 +7,363 @@ Description: Solves Traveling Salesman Problem for beam ability's path.
 
 package ability;
 
+import profiling.TspSolveEvent;
+
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 public class TSPSolver {
-    // threshold for switching from exact to heuristic algorithm
-    // exact solution is O(n!) so we limit it to prevent performance issues
-    private static final int MAX_POINTS_FOR_EXACT = 8;
+    // held-karp is O(2^n * n^2) time and O(2^n * n) memory, 16 points is
+    // about 16 million steps and 8 mb of table
+    public static final int MAX_POINTS_FOR_EXACT = 16;
+    // local search keeps an (n+1)^2 distance matrix and does O(n^2) work per
+    // pass, above this only nearest neighbor is used
+    public static final int MAX_POINTS_FOR_LOCAL_SEARCH = 1000;
+    private static final int MAX_IMPROVEMENT_PASSES = 50;
+    private static final int MAX_OR_OPT_SEGMENT = 3;
+    private static final double EPSILON = 1e-9; // ignore moves that only win by rounding error
+    private static final int LEGACY_MAX_POINTS_FOR_EXACT = 8;
+
+    // which algorithm solve() picks for a given number of points
+    public enum Algorithm {
+        TRIVIAL, HELD_KARP, LOCAL_SEARCH, NEAREST_NEIGHBOR
+    }
+
+    public static Algorithm algorithmFor(int pointCount) {
+        if (pointCount <= 1) {
+            return Algorithm.TRIVIAL;
+        } else if (pointCount <= MAX_POINTS_FOR_EXACT) {
+            return Algorithm.HELD_KARP;
+        } else if (pointCount <= MAX_POINTS_FOR_LOCAL_SEARCH) {
+            return Algorithm.LOCAL_SEARCH;
+        }
+        return Algorithm.NEAREST_NEIGHBOR;
+    }
 
-    // solves tsp from start point through all given points, returns optimal path
+    // solves tsp from start point through all given points and back, returns
+    // the path starting and ending at the start point
     public static List<double[]> solveTSP(double startX, double startY, List<double[]> points) {
+        int n = points.size();
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = points.get(i)[0];
+            ys[i] = points.get(i)[1];
+        }
+        int[] order = solve(startX, startY, xs, ys, n);
+
+        List<double[]> path = new ArrayList<>(n + 2);
+        double[] start = { startX, startY };
+        path.add(start);
+        for (int index : order) {
+            path.add(points.get(index));
+        }
+        if (n > 0) {
+            path.add(start); // return to start point to complete the cycle
+        }
+        return path;
+    }
+
+    // cheap nearest-neighbor order, good enough to start the beam on while the
+    // real solve runs in the background
+    public static int[] solveGreedy(double startX, double startY, double[] xs, double[] ys, int n) {
+        TspSolveEvent event = new TspSolveEvent();
+        event.begin();
+        int[] order = nearestNeighborOrder(startX, startY, xs, ys, n);
+        commitSolveEvent(event, Algorithm.NEAREST_NEIGHBOR, startX, startY, xs, ys, order);
+        return order;
+    }
+
+    // true when solve() can beat the greedy order; up to two points every order
+    // is the same cycle, and past the local search limit solve() is greedy too
+    public static boolean canImproveOnGreedy(int pointCount) {
+        return pointCount > 2 && pointCount <= MAX_POINTS_FOR_LOCAL_SEARCH;
+    }
+
+    // primitive entry point: returns the order in which to visit points 0..n-1
+    // after leaving the start point, choosing the algorithm by size
+    public static int[] solve(double startX, double startY, double[] xs, double[] ys, int n) {
+        TspSolveEvent event = new TspSolveEvent();
+        event.begin();
+        Algorithm algorithm = algorithmFor(n);
+        int[] order;
+        switch (algorithm) {
+            case TRIVIAL:
+                order = n == 0 ? new int[0] : new int[] { 0 };
+                break;
+            case HELD_KARP:
+                order = solveHeldKarp(distanceMatrix(startX, startY, xs, ys, n), n);
+                break;
+            case LOCAL_SEARCH:
+                double[] dist = distanceMatrix(startX, startY, xs, ys, n);
+                int[] tour = nearestNeighborTour(dist, n);
+                improveTour(dist, tour, n + 1);
+                order = toOrder(tour);
+                break;
+            default:
+                order = nearestNeighborOrder(startX, startY, xs, ys, n);
+                break;
+        }
+        commitSolveEvent(event, algorithm, startX, startY, xs, ys, order);
+        return order;
+    }
+
+    // the tour is only measured when a recording actually wants the event
+    private static void commitSolveEvent(TspSolveEvent event, Algorithm algorithm, double startX, double startY,
+            double[] xs, double[] ys, int[] order) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.points = order.length;
+            event.algorithm = algorithm.name();
+            event.tourLength = tourLength(startX, startY, xs, ys, order);
+            event.commit();
+        }
+    }
+
+    // length of the closed tour start -> order -> start
+    public static double tourLength(double startX, double startY, double[] xs, double[] ys, int[] order) {
+        double total = 0;
+        double cx = startX, cy = startY;
+        for (int index : order) {
+            total += dist(cx, cy, xs[index], ys[index]);
+            cx = xs[index];
+            cy = ys[index];
+        }
+        return total + dist(cx, cy, startX, startY);
+    }
+
+    // flat (n+1) x (n+1) matrix; node 0 is the start, node i + 1 is point i
+    private static double[] distanceMatrix(double startX, double startY, double[] xs, double[] ys, int n) {
+        int size = n + 1;
+        double[] dist = new double[size * size];
+        for (int a = 0; a < size; a++) {
+            double ax = a == 0 ? startX : xs[a - 1];
+            double ay = a == 0 ? startY : ys[a - 1];
+            for (int b = a + 1; b < size; b++) {
+                double d = dist(ax, ay, xs[b - 1], ys[b - 1]);
+                dist[a * size + b] = d;
+                dist[b * size + a] = d;
+            }
+        }
+        return dist;
+    }
+
+    // bitmask dynamic programming: best[mask * n + j] is the shortest path that
+    // leaves the start, visits exactly the points in mask and ends at point j
+    // each entry pulls from the row of mask without j, so reads stay contiguous
+    private static int[] solveHeldKarp(double[] dist, int n) {
+        int size = n + 1;
+        int full = (1 << n) - 1;
+        double[] best = new double[(full + 1) * n];
+        byte[] previous = new byte[(full + 1) * n]; // point visited before j, -1 for the start
+
+        // point-to-point distances re-indexed to 0..n-1 for the inner loop
+        double[] between = new double[n * n];
+        for (int k = 0; k < n; k++) {
+            System.arraycopy(dist, (k + 1) * size + 1, between, k * n, n);
+        }
+
+        // walk only the set bits of each mask, on average half of the points
+        for (int mask = 1; mask <= full; mask++) {
+            int row = mask * n;
+            for (int bits = mask; bits != 0; bits &= bits - 1) {
+                int j = Integer.numberOfTrailingZeros(bits);
+                int rest = mask ^ (1 << j);
+                if (rest == 0) {
+                    best[row + j] = dist[j + 1]; // straight from the start
+                    previous[row + j] = -1;
+                    continue;
+                }
+                int restRow = rest * n;
+                double min = Double.MAX_VALUE;
+                int argMin = 0;
+                for (int restBits = rest; restBits != 0; restBits &= restBits - 1) {
+                    int k = Integer.numberOfTrailingZeros(restBits);
+                    double candidate = best[restRow + k] + between[k * n + j];
+                    if (candidate < min) {
+                        min = candidate;
+                        argMin = k;
+                    }
+                }
+                best[row + j] = min;
+                previous[row + j] = (byte) argMin;
+            }
+        }
+
+        // close the cycle back to the start and walk the table backwards
+        int last = 0;
+        double bestTotal = Double.MAX_VALUE;
+        for (int j = 0; j < n; j++) {
+            double total = best[full * n + j] + dist[(j + 1) * size];
+            if (total < bestTotal) {
+                bestTotal = total;
+                last = j;
+            }
+        }
+        int[] order = new int[n];
+        int mask = full;
+        for (int i = n - 1; i >= 0; i--) {
+            order[i] = last;
+            int before = previous[mask * n + last];
+            mask &= ~(1 << last);
+            last = before;
+        }
+        return order;
+    }
+
+    // greedy nearest-neighbor tour over matrix nodes, tour[0] is the start
+    private static int[] nearestNeighborTour(double[] dist, int n) {
+        int size = n + 1;
+        int[] tour = new int[size];
+        boolean[] visited = new boolean[size];
+        visited[0] = true;
+        int current = 0;
+        for (int i = 1; i < size; i++) {
+            int nearest = -1;
+            double minDist = Double.MAX_VALUE;
+            for (int k = 1; k < size; k++) {
+                if (!visited[k] && dist[current * size + k] < minDist) {
+                    minDist = dist[current * size + k];
+                    nearest = k;
+                }
+            }
+            tour[i] = nearest;
+            visited[nearest] = true;
+            current = nearest;
+        }
+        return tour;
+    }
+
+    // nearest neighbor straight from coordinates, for inputs too big for a matrix
+    private static int[] nearestNeighborOrder(double startX, double startY, double[] xs, double[] ys, int n) {
+        int[] order = new int[n];
+        boolean[] visited = new boolean[n];
+        double cx = startX, cy = startY;
+        for (int i = 0; i < n; i++) {
+            int nearest = -1;
+            double minDistSq = Double.MAX_VALUE;
+            for (int k = 0; k < n; k++) {
+                if (visited[k]) {
+                    continue;
+                }
+                double dx = xs[k] - cx, dy = ys[k] - cy;
+                double distSq = dx * dx + dy * dy;
+                if (distSq < minDistSq) {
+                    minDistSq = distSq;
+                    nearest = k;
+                }
+            }
+            order[i] = nearest;
+            visited[nearest] = true;
+            cx = xs[nearest];
+            cy = ys[nearest];
+        }
+        return order;
+    }
+
+    // alternates 2-opt and or-opt passes until neither finds an improving move
+    // tour[0] is the start and stays fixed, the tour implicitly returns to it
+    private static void improveTour(double[] dist, int[] tour, int size) {
+        for (int pass = 0; pass < MAX_IMPROVEMENT_PASSES; pass++) {
+            boolean improved = twoOptPass(dist, tour, size);
+            improved |= orOptPass(dist, tour, size);
+            if (!improved) {
+                return;
+            }
+        }
+    }
+
+    // 2-opt: reverse tour[i..k] when reconnecting the two cut edges is shorter
+    private static boolean twoOptPass(double[] dist, int[] tour, int size) {
+        boolean improved = false;
+        for (int i = 1; i < size - 1; i++) {
+            for (int k = i + 1; k < size; k++) {
+                int a = tour[i - 1];
+                int b = tour[i];
+                int c = tour[k];
+                int d = tour[(k + 1) % size];
+                double delta = dist[a * size + c] + dist[b * size + d]
+                        - dist[a * size + b] - dist[c * size + d];
+                if (delta < -EPSILON) {
+                    reverse(tour, i, k);
+                    improved = true;
+                }
+            }
+        }
+        return improved;
+    }
+
+    // or-opt: move a run of 1 to 3 points to a better spot, possibly reversed
+    private static boolean orOptPass(double[] dist, int[] tour, int size) {
+        boolean improved = false;
+        for (int length = 1; length <= MAX_OR_OPT_SEGMENT; length++) {
+            for (int i = 1; i + length <= size; i++) {
+                int first = tour[i];
+                int last = tour[i + length - 1];
+                int before = tour[i - 1];
+                int after = tour[(i + length) % size];
+                double removeGain = dist[before * size + first] + dist[last * size + after]
+                        - dist[before * size + after];
+
+                // try every edge (p, q) outside the run as the new spot
+                for (int j = 0; j < size; j++) {
+                    if (j >= i - 1 && j < i + length) {
+                        continue; // edge touches the run
+                    }
+                    int p = tour[j];
+                    int q = tour[(j + 1) % size];
+                    double forward = dist[p * size + first] + dist[last * size + q] - dist[p * size + q];
+                    double reversed = dist[p * size + last] + dist[first * size + q] - dist[p * size + q];
+                    double insertCost = Math.min(forward, reversed);
+                    if (insertCost - removeGain < -EPSILON) {
+                        moveSegment(tour, size, i, length, j, reversed < forward);
+                        improved = true;
+                        break;
+                    }
+                }
+            }
+        }
+        return improved;
+    }
+
+    // moves tour[i..i+length-1] to sit between tour[j] and tour[j+1]
+    private static void moveSegment(int[] tour, int size, int i, int length, int j, boolean reversed) {
+        int[] segment = Arrays.copyOfRange(tour, i, i + length);
+        if (reversed) {
+            reverse(segment, 0, length - 1);
+        }
+        if (j < i) {
+            // shift tour[j+1..i-1] right to open a gap after j
+            System.arraycopy(tour, j + 1, tour, j + 1 + length, i - j - 1);
+            System.arraycopy(segment, 0, tour, j + 1, length);
+        } else {
+            // shift tour[i+length..j] left to close the gap, then place after it
+            System.arraycopy(tour, i + length, tour, i, j - i - length + 1);
+            System.arraycopy(segment, 0, tour, j - length + 1, length);
+        }
+    }
+
+    private static void reverse(int[] values, int from, int to) {
+        while (from < to) {
+            int tmp = values[from];
+            values[from++] = values[to];
+            values[to--] = tmp;
+        }
+    }
+
+    // converts a matrix tour (start first) to point indices
+    private static int[] toOrder(int[] tour) {
+        int[] order = new int[tour.length - 1];
+        for (int i = 1; i < tour.length; i++) {
+            order[i - 1] = tour[i] - 1;
+        }
+        return order;
+    }
+
+    // previous solver (backtracking up to 8 points, nearest neighbor above),
+    // kept as the baseline for bench.TSPBenchmark
+    public static List<double[]> solveTSPLegacy(double startX, double startY, List<double[]> points) {
         if (points.isEmpty()) {
             List<double[]> result = new ArrayList<>();
             result.add(new double[] { startX, startY });
@@ -24,7 +371,7 @@ public class TSPSolver {
         }
 
         // use exact solution for small problems, heuristic for large
-        if (points.size() > MAX_POINTS_FOR_EXACT) {
+        if (points.size() > LEGACY_MAX_POINTS_FOR_EXACT) {
             return solveTSPHeuristic(startX, startY, points);
         }
 
@@ -0,0 +1,4 @@
+javac util\*.java entity\*.java particle\*.java enemy\*.java ability\*.java manager\*.java profiling\*.java replay\*.java ui\*.java core\*.java bench\*.java
+pause
+if "%1"=="" (java -Djava.awt.headless=true bench.HotPathBenchmark) else (java -Djava.awt.headless=true bench.%*)
+pause
\ No newline at end of file
@@ -0,0 +1,121 @@
+/*
+Name: BenchmarkHarness.java
+Authors: Hamza Khan & Alec Li
+Date: January 16, 2026
+Description: Times an operation over warmup and measurement rounds and counts the bytes it allocates on every thread.
+*/
+
+package bench;
+
+import java.lang.management.ManagementFactory;
+
+public final class BenchmarkHarness {
+
+    private static final long WARMUP_NANOS = 1_000_000_000L;
+    private static final int ROUNDS = 5;
+    private static final long TARGET_NANOS_PER_ROUND = 200_000_000L;
+    // setup can cost far more than the op itself, so rounds are capped in wall time too
+    private static final long MAX_WALL_NANOS_PER_ROUND = 2_000_000_000L;
+
+    // hotspot's bean counts bytes allocated per thread, the same counter jmh's gc
+    // profiler reads; null on vms that don't have it
+    private static final com.sun.management.ThreadMXBean THREADS = allocationCounter();
+    private static final long COUNTER_OVERHEAD = measureCounterOverhead();
+
+    private BenchmarkHarness() {
+    }
+
+    public static final class Result {
+        private final double microsPerOp;
+        private final double bytesPerOp;
+        private final long ops;
+
+        private Result(double microsPerOp, double bytesPerOp, long ops) {
+            this.microsPerOp = microsPerOp;
+            this.bytesPerOp = bytesPerOp;
+            this.ops = ops;
+        }
+
+        public double getMicrosPerOp() {
+            return microsPerOp;
+        }
+
+        // negative when the vm can't count allocations
+        public double getBytesPerOp() {
+            return bytesPerOp;
+        }
+
+        public long getOps() {
+            return ops;
+        }
+    }
+
+    // runs setup untimed before every op, so each op starts from the same state;
+    // reports the mean time per op in the fastest round, which filters out most
+    // scheduler noise, and the mean bytes per op over all rounds
+    public static Result measure(Runnable setup, Runnable op) {
+        long warmupEnd = System.nanoTime() + WARMUP_NANOS;
+        while (System.nanoTime() < warmupEnd) {
+            setup.run();
+            op.run();
+        }
+
+        double best = Double.MAX_VALUE;
+        long totalOps = 0;
+        long totalBytes = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long elapsed = 0;
+            long ops = 0;
+            long roundStart = System.nanoTime();
+            while (ops == 0 || (elapsed < TARGET_NANOS_PER_ROUND
+                    && System.nanoTime() - roundStart < MAX_WALL_NANOS_PER_ROUND)) {
+                setup.run();
+                long bytesBefore = allocatedBytes();
+                long start = System.nanoTime();
+                op.run();
+                elapsed += System.nanoTime() - start;
+                totalBytes += allocatedBytes() - bytesBefore - COUNTER_OVERHEAD;
+                ops++;
+            }
+            best = Math.min(best, elapsed / 1000.0 / ops);
+            totalOps += ops;
+        }
+        double bytesPerOp = THREADS == null ? -1 : Math.max(0, (double) totalBytes / totalOps);
+        return new Result(best, bytesPerOp, totalOps);
+    }
+
+    // bytes allocated so far by every live thread, so work handed to a fork join
+    // pool is counted too
+    private static long allocatedBytes() {
+        if (THREADS == null)
+            return 0;
+        long total = 0;
+        for (long bytes : THREADS.getThreadAllocatedBytes(THREADS.getAllThreadIds())) {
+            if (bytes > 0)
+                total += bytes;
+        }
+        return total;
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean))
+            return null;
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        if (!threads.isThreadAllocatedMemorySupported())
+            return null;
+        threads.setThreadAllocatedMemoryEnabled(true);
+        return threads;
+    }
+
+    // reading the counters allocates a little itself; the smallest reading
+    // around an empty op is subtracted from every op
+    private static long measureCounterOverhead() {
+        long overhead = Long.MAX_VALUE;
+        for (int i = 0; i < 1000; i++) {
+            long before = allocatedBytes();
+            overhead = Math.min(overhead, allocatedBytes() - before);
+        }
+        return overhead;
+    }
+}
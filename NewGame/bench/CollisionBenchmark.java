@@ -0,0 +1,96 @@
+/*
+Name: CollisionBenchmark.java
+Authors: Hamza Khan & Alec Li
+Date: January 16, 2026
+Description: Compares pairwise and grid-based enemy separation to find where the grid starts winning.
+*/
+
+package bench;
+
+import enemy.Enemy;
+import enemy.TriangleEnemy;
+import manager.CollisionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class CollisionBenchmark {
+
+    private static final int MAP_SIZE = 2000;
+    private static final int[] ENEMY_COUNTS = { 10, 25, 50, 100, 200, 400, 800, 1600, 3200, 6400 };
+    private static final long TARGET_NANOS_PER_CASE = 300_000_000L;
+
+    // usage: bench.bat CollisionBenchmark, which compiles everything first, or once built:
+    // java -Djava.awt.headless=true bench.CollisionBenchmark
+    public static void main(String[] args) {
+        CollisionManager collisionManager = new CollisionManager(MAP_SIZE, MAP_SIZE);
+        int crossover = -1;
+
+        System.out.println("enemies  pairwise_us  grid_us  speedup");
+        for (int count : ENEMY_COUNTS) {
+            List<Enemy> enemies = createEnemies(count);
+            double[] startX = new double[count];
+            double[] startY = new double[count];
+            for (int i = 0; i < count; i++) {
+                startX[i] = enemies.get(i).getX();
+                startY[i] = enemies.get(i).getY();
+            }
+
+            double pairwise = measure(() -> {
+                for (int i = 0; i < enemies.size(); i++) {
+                    collisionManager.resolveEnemyCollisions(enemies.get(i), enemies, i);
+                }
+            }, enemies, startX, startY);
+            double grid = measure(() -> collisionManager.resolveEnemyCollisions(enemies),
+                    enemies, startX, startY);
+
+            System.out.printf("%7d  %11.1f  %7.1f  %6.2fx%n", count, pairwise, grid, pairwise / grid);
+            if (crossover < 0 && grid < pairwise) {
+                crossover = count;
+            }
+        }
+        System.out.println(crossover < 0 ? "grid never faster" : "grid faster from " + crossover + " enemies");
+    }
+
+    // enemies spread over the map, bunched towards the center like a late wave
+    private static List<Enemy> createEnemies(int count) {
+        Random random = new Random(42);
+        List<Enemy> enemies = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            double x = MAP_SIZE / 2.0 + random.nextGaussian() * MAP_SIZE / 5.0;
+            double y = MAP_SIZE / 2.0 + random.nextGaussian() * MAP_SIZE / 5.0;
+            x = Math.max(24, Math.min(MAP_SIZE - 24, x));
+            y = Math.max(24, Math.min(MAP_SIZE - 24, y));
+            enemies.add(new TriangleEnemy(x, y, 24, 50, 5, 260));
+        }
+        return enemies;
+    }
+
+    // average microseconds per call; positions are restored before every call so
+    // both versions always see the same overlap pattern
+    private static double measure(Runnable resolve, List<Enemy> enemies, double[] startX, double[] startY) {
+        // warm up the jit
+        for (int i = 0; i < 200; i++) {
+            restore(enemies, startX, startY);
+            resolve.run();
+        }
+
+        long elapsed = 0;
+        int calls = 0;
+        while (elapsed < TARGET_NANOS_PER_CASE) {
+            restore(enemies, startX, startY);
+            long start = System.nanoTime();
+            resolve.run();
+            elapsed += System.nanoTime() - start;
+            calls++;
+        }
+        return elapsed / 1000.0 / calls;
+    }
+
+    private static void restore(List<Enemy> enemies, double[] startX, double[] startY) {
+        for (int i = 0; i < enemies.size(); i++) {
+            enemies.get(i).setPosition(startX[i], startY[i]);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+Name: EnemyUpdateBenchmark.java
+Authors: Hamza Khan & Alec Li
+Date: January 16, 2026
+Description: Compares updating a mixed enemy list against per-type passes over an EnemyStore, serial and parallel.
+*/
+
+package bench;
+
+import entity.Character;
+import entity.BulletBuffer;
+import entity.BulletIndex;
+import entity.PlayerSnapshot;
+import enemy.CircleEnemy;
+import enemy.Enemy;
+import enemy.EnemyEffects;
+import enemy.EnemyPool;
+import enemy.EnemyStore;
+import enemy.HexagonEnemy;
+import enemy.OctagonEnemy;
+import enemy.PentagonEnemy;
+import enemy.SquareEnemy;
+import enemy.StarEnemy;
+import enemy.TriangleEnemy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class EnemyUpdateBenchmark {
+
+    private static final int MAP_SIZE = 2000;
+    private static final int[] ENEMY_COUNTS = { 1_000, 10_000 };
+    private static final double DELTA_SECONDS = 1.0 / 60;
+    private static final int ROUNDS = 5;
+    private static final long TARGET_NANOS_PER_ROUND = 200_000_000L;
+
+    // usage: bench.bat EnemyUpdateBenchmark, which compiles everything first, or once built:
+    // java -Djava.awt.headless=true bench.EnemyUpdateBenchmark
+    public static void main(String[] args) {
+        Character player = new Character(MAP_SIZE / 2.0, MAP_SIZE / 2.0);
+        PlayerSnapshot snapshot = new PlayerSnapshot(player);
+        EnemyEffects effects = new EnemyEffects();
+        EnemyPool enemyPool = new EnemyPool();
+        ForkJoinPool serialPool = new ForkJoinPool(1);
+        BulletBuffer bullets = new BulletBuffer();
+        BulletIndex bulletIndex = new BulletIndex(MAP_SIZE, MAP_SIZE, 150);
+        bulletIndex.build(bullets);
+        List<Enemy> spawned = new ArrayList<>();
+
+        System.out.printf("parallelism %d%n", ForkJoinPool.commonPool().getParallelism());
+        System.out.println("enemies  mixed_list_us  per_type_us  parallel_us  speedup");
+        for (int count : ENEMY_COUNTS) {
+            List<Enemy> enemies = createEnemies(count);
+            EnemyStore store = new EnemyStore(serialPool);
+            store.addAll(enemies);
+            EnemyStore parallelStore = new EnemyStore();
+            parallelStore.addAll(enemies);
+            double[] startX = new double[count];
+            double[] startY = new double[count];
+            for (int i = 0; i < count; i++) {
+                startX[i] = enemies.get(i).getX();
+                startY[i] = enemies.get(i).getY();
+            }
+
+            // the loop World.updateEnemies ran before enemies were bucketed
+            double mixed = measure(() -> {
+                for (int i = 0; i < enemies.size(); i++) {
+                    Enemy enemy = enemies.get(i);
+                    if (!enemy.isAlive())
+                        continue;
+                    enemy.update(DELTA_SECONDS, snapshot, effects, bulletIndex, MAP_SIZE, MAP_SIZE);
+                    if (enemy instanceof StarEnemy)
+                        ((StarEnemy) enemy).trySpawn(snapshot, effects);
+                }
+                effects.drainInto(bullets, enemyPool, spawned, player);
+            }, enemies, startX, startY, bullets, spawned);
+            double perType = measure(() -> {
+                store.update(DELTA_SECONDS, snapshot, bulletIndex, MAP_SIZE, MAP_SIZE);
+                store.applyEffects(bullets, player, spawned);
+            }, enemies, startX, startY, bullets, spawned);
+            double parallel = measure(() -> {
+                parallelStore.update(DELTA_SECONDS, snapshot, bulletIndex, MAP_SIZE, MAP_SIZE);
+                parallelStore.applyEffects(bullets, player, spawned);
+            }, enemies, startX, startY, bullets, spawned);
+
+            System.out.printf("%7d  %13.1f  %11.1f  %11.1f  %6.2fx%n", count, mixed, perType, parallel,
+                    mixed / Math.min(perType, parallel));
+        }
+    }
+
+    // an even mix of all seven types in random order, like a late wave
+    private static List<Enemy> createEnemies(int count) {
+        Random random = new Random(42);
+        List<Enemy> enemies = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            double x = 24 + random.nextDouble() * (MAP_SIZE - 48);
+            double y = 24 + random.nextDouble() * (MAP_SIZE - 48);
+            switch (i % 7) {
+                case 0:
+                    enemies.add(new TriangleEnemy(x, y, 20, 50, 5, 260));
+                    break;
+                case 1:
+                    enemies.add(new CircleEnemy(x, y, 22, 80, 10, 120, 150));
+                    break;
+                case 2:
+                    enemies.add(new SquareEnemy(x, y, 20, 70, 8, 160, 150));
+                    break;
+                case 3:
+                    enemies.add(new PentagonEnemy(x, y, 22, 60, 5, 100));
+                    break;
+                case 4:
+                    enemies.add(new HexagonEnemy(x, y, 24, 120, 10, 90));
+                    break;
+                case 5:
+                    enemies.add(new OctagonEnemy(x, y, 24, 150, 10, 80));
+                    break;
+                default:
+                    enemies.add(new StarEnemy(x, y, 24, 100, 10, 60));
+                    break;
+            }
+        }
+        Collections.shuffle(enemies, random);
+        return enemies;
+    }
+
+    // average microseconds per call in the fastest of several rounds, which
+    // filters out most scheduler noise; positions are restored and bullets and
+    // spawns dropped before every call so both versions do the same work
+    private static double measure(Runnable update, List<Enemy> enemies, double[] startX, double[] startY,
+            BulletBuffer bullets, List<Enemy> spawned) {
+        // warm up the jit
+        for (int i = 0; i < 200; i++) {
+            restore(enemies, startX, startY, bullets, spawned);
+            update.run();
+        }
+
+        double best = Double.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long elapsed = 0;
+            int calls = 0;
+            while (elapsed < TARGET_NANOS_PER_ROUND) {
+                restore(enemies, startX, startY, bullets, spawned);
+                long start = System.nanoTime();
+                update.run();
+                elapsed += System.nanoTime() - start;
+                calls++;
+            }
+            best = Math.min(best, elapsed / 1000.0 / calls);
+        }
+        return best;
+    }
+
+    private static void restore(List<Enemy> enemies, double[] startX, double[] startY, BulletBuffer bullets,
+            List<Enemy> spawned) {
+        for (int i = 0; i < enemies.size(); i++) {
+            enemies.get(i).setPosition(startX[i], startY[i]);
+        }
+        bullets.clear();
+        spawned.clear();
+    }
+}
@@ -0,0 +1,251 @@
+/*
+Name: HotPathBenchmark.java
+Authors: Hamza Khan & Alec Li
+Date: January 16, 2026
+Description: Times the simulation hot paths from 100 to 100,000 entities and reports time and allocation per call.
+*/
+
+package bench;
+
+import core.World;
+import entity.BulletBuffer;
+import entity.BulletIndex;
+import enemy.CircleEnemy;
+import enemy.Enemy;
+import enemy.EnemyStore;
+import enemy.HexagonEnemy;
+import enemy.OctagonEnemy;
+import enemy.PentagonEnemy;
+import enemy.SquareEnemy;
+import enemy.StarEnemy;
+import enemy.TriangleEnemy;
+import manager.CollisionManager;
+import manager.ParticleManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class HotPathBenchmark {
+
+    private static final int MAP_SIZE = World.MAP_WIDTH;
+    private static final int[] DEFAULT_COUNTS = { 100, 1_000, 10_000, 100_000 };
+    private static final double DELTA_SECONDS = 1.0 / 60;
+    private static final double UNKILLABLE = 1e12; // enemies survive every call, so each does the same work
+    private static final double PLAYER_CLEARANCE = 300; // nothing reaches the player within one call
+    private static final double BULLET_SPEED = 600;
+    private static final double SQUARE_DODGE_RADIUS = 150;
+
+    private static long sink; // keeps query results alive so the jit can't drop the queries
+
+    // usage: bench.bat [HotPathBenchmark [case ...] [count ...]], which compiles
+    // everything first, or once built:
+    // java -Djava.awt.headless=true bench.HotPathBenchmark [case ...] [count ...]
+    // cases: collisions, bullets, particles, dodge, enemies; default is all of
+    // them at 100, 1000, 10000 and 100000 entities
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        List<String> cases = new ArrayList<>();
+        List<Integer> counts = new ArrayList<>();
+        for (String arg : args) {
+            if (Character.isDigit(arg.charAt(0))) {
+                counts.add(Integer.parseInt(arg.replace("_", "")));
+            } else {
+                cases.add(arg);
+            }
+        }
+        if (counts.isEmpty()) {
+            for (int count : DEFAULT_COUNTS) {
+                counts.add(count);
+            }
+        }
+
+        System.out.println("case        entities        us/op          B/op      ops");
+        for (int count : counts) {
+            if (cases.isEmpty() || cases.contains("collisions"))
+                report("collisions", count, collisions(count));
+            if (cases.isEmpty() || cases.contains("bullets"))
+                report("bullets", count, bullets(count));
+            if (cases.isEmpty() || cases.contains("particles"))
+                report("particles", count, particles(count));
+            if (cases.isEmpty() || cases.contains("dodge"))
+                report("dodge", count, dodge(count));
+            if (cases.isEmpty() || cases.contains("enemies"))
+                report("enemies", count, enemies(count));
+        }
+        if (sink == 42)
+            System.out.println();
+    }
+
+    // CollisionManager.resolveEnemyCollisions over enemies bunched towards the
+    // center like a late wave
+    private static BenchmarkHarness.Result collisions(int count) {
+        CollisionManager collisionManager = new CollisionManager(MAP_SIZE, MAP_SIZE);
+        Random random = new Random(42);
+        List<Enemy> enemies = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            double x = clamp(MAP_SIZE / 2.0 + random.nextGaussian() * MAP_SIZE / 5.0);
+            double y = clamp(MAP_SIZE / 2.0 + random.nextGaussian() * MAP_SIZE / 5.0);
+            enemies.add(new TriangleEnemy(x, y, 24, 50, 5, 260));
+        }
+        Positions start = new Positions(enemies);
+        return BenchmarkHarness.measure(() -> start.restore(enemies),
+                () -> collisionManager.resolveEnemyCollisions(enemies));
+    }
+
+    // World.updateBullets with the same number of player bullets and enemies, so
+    // every call moves the bullets and runs the grid hit test for each of them
+    private static BenchmarkHarness.Result bullets(int count) {
+        World world = new World();
+        world.startNewGame(42);
+        List<Enemy> enemies = createEnemies(count, new Random(42));
+        world.getEnemyStore().clear();
+        world.getEnemyStore().addAll(enemies);
+        BulletBuffer bullets = world.getBullets();
+        BulletBuffer startBullets = createPlayerBullets(count, new Random(7));
+
+        return BenchmarkHarness.measure(() -> {
+            bullets.clear();
+            for (int i = 0; i < startBullets.size(); i++) {
+                bullets.add(startBullets.getX(i), startBullets.getY(i), startBullets.getVx(i),
+                        startBullets.getVy(i), startBullets.getDamage(i), true);
+            }
+        }, () -> world.updateBullets(DELTA_SECONDS));
+    }
+
+    // ParticleManager.update right after spawnDeathEffect for every enemy, the
+    // frame after a beam clears a whole wave
+    private static BenchmarkHarness.Result particles(int count) {
+        ParticleManager particleManager = new ParticleManager();
+        particleManager.setSeed(42);
+        List<Enemy> enemies = createEnemies(count, new Random(42));
+        return BenchmarkHarness.measure(() -> {
+            particleManager.clear();
+            for (int i = 0; i < enemies.size(); i++) {
+                particleManager.spawnDeathEffect(enemies.get(i));
+            }
+        }, () -> particleManager.update(DELTA_SECONDS));
+    }
+
+    // the nearest-bullet query every SquareEnemy runs each step, one per square
+    // against an index of the same number of player bullets
+    private static BenchmarkHarness.Result dodge(int count) {
+        Random random = new Random(42);
+        double[] squareX = new double[count];
+        double[] squareY = new double[count];
+        for (int i = 0; i < count; i++) {
+            squareX[i] = 24 + random.nextDouble() * (MAP_SIZE - 48);
+            squareY[i] = 24 + random.nextDouble() * (MAP_SIZE - 48);
+        }
+        BulletIndex bulletIndex = new BulletIndex(MAP_SIZE, MAP_SIZE, SQUARE_DODGE_RADIUS);
+        bulletIndex.build(createPlayerBullets(count, random));
+
+        return BenchmarkHarness.measure(() -> {
+        }, () -> {
+            long found = 0;
+            for (int i = 0; i < count; i++) {
+                found += bulletIndex.findNearestPlayerBullet(squareX[i], squareY[i], SQUARE_DODGE_RADIUS);
+            }
+            sink += found;
+        });
+    }
+
+    // one full World.updateEnemies step over an even mix of every enemy type
+    private static BenchmarkHarness.Result enemies(int count) {
+        World world = new World();
+        world.startNewGame(42);
+        List<Enemy> enemies = createEnemies(count, new Random(42));
+        Positions start = new Positions(enemies);
+        EnemyStore store = world.getEnemyStore();
+
+        return BenchmarkHarness.measure(() -> {
+            // drops whatever stars spawned and puts everyone back where they were
+            start.restore(enemies);
+            store.clear();
+            store.addAll(enemies);
+            world.getBullets().clear();
+            world.getParticleManager().clear();
+        }, () -> world.updateEnemies(DELTA_SECONDS));
+    }
+
+    // an even mix of all seven types spread over the map, none close enough to
+    // the player in the middle to touch it
+    private static List<Enemy> createEnemies(int count, Random random) {
+        List<Enemy> enemies = new ArrayList<>(count);
+        double center = MAP_SIZE / 2.0;
+        while (enemies.size() < count) {
+            double x = 24 + random.nextDouble() * (MAP_SIZE - 48);
+            double y = 24 + random.nextDouble() * (MAP_SIZE - 48);
+            double dx = x - center;
+            double dy = y - center;
+            if (dx * dx + dy * dy < PLAYER_CLEARANCE * PLAYER_CLEARANCE)
+                continue;
+            switch (enemies.size() % 7) {
+                case 0:
+                    enemies.add(new TriangleEnemy(x, y, 20, UNKILLABLE, 5, 260));
+                    break;
+                case 1:
+                    enemies.add(new CircleEnemy(x, y, 22, UNKILLABLE, 10, 120, 150));
+                    break;
+                case 2:
+                    enemies.add(new SquareEnemy(x, y, 20, UNKILLABLE, 8, 160, SQUARE_DODGE_RADIUS));
+                    break;
+                case 3:
+                    enemies.add(new PentagonEnemy(x, y, 22, UNKILLABLE, 5, 100));
+                    break;
+                case 4:
+                    enemies.add(new HexagonEnemy(x, y, 24, UNKILLABLE, 10, 90));
+                    break;
+                case 5:
+                    enemies.add(new OctagonEnemy(x, y, 24, UNKILLABLE, 10, 80));
+                    break;
+                default:
+                    enemies.add(new StarEnemy(x, y, 24, UNKILLABLE, 10, 60));
+                    break;
+            }
+        }
+        return enemies;
+    }
+
+    // player bullets anywhere on the map heading in random directions
+    private static BulletBuffer createPlayerBullets(int count, Random random) {
+        BulletBuffer bullets = new BulletBuffer();
+        for (int i = 0; i < count; i++) {
+            double angle = random.nextDouble() * Math.PI * 2;
+            bullets.add(random.nextDouble() * MAP_SIZE, random.nextDouble() * MAP_SIZE,
+                    Math.cos(angle) * BULLET_SPEED, Math.sin(angle) * BULLET_SPEED, 1, true);
+        }
+        return bullets;
+    }
+
+    private static double clamp(double value) {
+        return Math.max(24, Math.min(MAP_SIZE - 24, value));
+    }
+
+    private static void report(String name, int count, BenchmarkHarness.Result result) {
+        String bytes = result.getBytesPerOp() < 0 ? "n/a" : String.format("%.0f", result.getBytesPerOp());
+        System.out.printf("%-10s  %8d  %11.1f  %12s  %7d%n", name, count, result.getMicrosPerOp(), bytes,
+                result.getOps());
+    }
+
+    // enemy start positions, restored before every call
+    private static final class Positions {
+        private final double[] x;
+        private final double[] y;
+
+        Positions(List<Enemy> enemies) {
+            x = new double[enemies.size()];
+            y = new double[enemies.size()];
+            for (int i = 0; i < enemies.size(); i++) {
+                x[i] = enemies.get(i).getX();
+                y[i] = enemies.get(i).getY();
+            }
+        }
+
+        void restore(List<Enemy> enemies) {
+            for (int i = 0; i < enemies.size(); i++) {
+                enemies.get(i).setPosition(x[i], y[i]);
+            }
+        }
+    }
+}
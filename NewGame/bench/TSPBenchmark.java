@@ -0,0 +1,88 @@
+/*
+Name: TSPBenchmark.java
+Authors: Hamza Khan & Alec Li
+Date: January 16, 2026
+Description: Compares beam path length and solve time of the current TSP solver against the previous one.
+*/
+
+package bench;
+
+import ability.TSPSolver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class TSPBenchmark {
+
+    private static final int MAP_SIZE = 2000;
+    private static final int[] POINT_COUNTS = { 4, 6, 8, 10, 12, 14, 16, 20, 30, 50, 100, 200 };
+    private static final int TRIALS = 20; // random point sets per size
+    private static final long TARGET_NANOS_PER_CASE = 200_000_000L;
+
+    // usage: bench.bat TSPBenchmark, which compiles everything first, or once built:
+    // java -Djava.awt.headless=true bench.TSPBenchmark
+    public static void main(String[] args) {
+        System.out.println("points  algorithm         legacy_len  new_len  gain    legacy_us   new_us");
+        for (int n : POINT_COUNTS) {
+            double legacyLength = 0;
+            double newLength = 0;
+            double legacyMicros = 0;
+            double newMicros = 0;
+            Random random = new Random(7 + n);
+
+            for (int trial = 0; trial < TRIALS; trial++) {
+                double startX = MAP_SIZE / 2.0;
+                double startY = MAP_SIZE / 2.0;
+                List<double[]> points = createPoints(random, n);
+
+                legacyLength += pathLength(TSPSolver.solveTSPLegacy(startX, startY, points));
+                newLength += pathLength(TSPSolver.solveTSP(startX, startY, points));
+                // backtracking is factorial, only time it where the game used it
+                if (trial < 3) {
+                    legacyMicros += measure(() -> TSPSolver.solveTSPLegacy(startX, startY, points));
+                    newMicros += measure(() -> TSPSolver.solveTSP(startX, startY, points));
+                }
+            }
+
+            System.out.printf("%6d  %-16s  %10.0f  %7.0f  %5.1f%%  %9.1f  %7.1f%n", n, TSPSolver.algorithmFor(n),
+                    legacyLength / TRIALS, newLength / TRIALS, 100 * (1 - newLength / legacyLength),
+                    legacyMicros / 3, newMicros / 3);
+        }
+    }
+
+    // enemies of one type spread over the map
+    private static List<double[]> createPoints(Random random, int count) {
+        List<double[]> points = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            points.add(new double[] { random.nextDouble() * MAP_SIZE, random.nextDouble() * MAP_SIZE });
+        }
+        return points;
+    }
+
+    private static double pathLength(List<double[]> path) {
+        double total = 0;
+        for (int i = 1; i < path.size(); i++) {
+            double dx = path.get(i)[0] - path.get(i - 1)[0];
+            double dy = path.get(i)[1] - path.get(i - 1)[1];
+            total += Math.sqrt(dx * dx + dy * dy);
+        }
+        return total;
+    }
+
+    // average microseconds per call after a short warm up
+    private static double measure(Runnable solve) {
+        for (int i = 0; i < 5; i++) {
+            solve.run();
+        }
+        long elapsed = 0;
+        int calls = 0;
+        while (elapsed < TARGET_NANOS_PER_CASE / 3) {
+            long start = System.nanoTime();
+            solve.run();
+            elapsed += System.nanoTime() - start;
+            calls++;
+        }
+        return elapsed / 1000.0 / calls;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+Name: GameCanvas.java
+Authors: Hamza Khan & Alec Li
+Date: January 16, 2026
+Description: Heavyweight canvas that presents game frames through a BufferStrategy (active rendering).
+*/
+
+package core;
+
+import java.awt.Canvas;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
+
+public class GameCanvas extends Canvas {
+
+    private static final int BUFFER_COUNT = 2;
+
+    // draws one complete frame into the given back buffer graphics
+    public interface FrameRenderer {
+        void render(Graphics2D g2);
+    }
+
+    private volatile BufferStrategy strategy;
+
+    // presentation timing, written and read by the presenting thread, reset from
+    // the edt while the loop is stopped
+    private volatile long lastPresentNanos; // cost of the last render + show
+    private volatile long lastFrameIntervalNanos; // time between the last two presents, 0 after a reset
+    private long previousPresentStart;
+
+    public GameCanvas() {
+        setBackground(Color.BLACK);
+        // frames are pushed by the game loop, swing never needs to repaint us
+        setIgnoreRepaint(true);
+        setFocusable(true);
+    }
+
+    // renders and shows one frame, returns false if the canvas isn't ready yet
+    public boolean present(FrameRenderer renderer) {
+        if (!isDisplayable() || getWidth() <= 0 || getHeight() <= 0) {
+            return false;
+        }
+        BufferStrategy strategy = this.strategy;
+        if (strategy == null) {
+            createBufferStrategy(BUFFER_COUNT);
+            strategy = getBufferStrategy();
+            this.strategy = strategy;
+        }
+
+        long start = System.nanoTime();
+        if (previousPresentStart != 0) {
+            lastFrameIntervalNanos = start - previousPresentStart;
+        }
+        previousPresentStart = start;
+
+        // buffer contents can be lost (e.g. display mode change), redraw until they
+        // stick
+        do {
+            do {
+                Graphics2D g2 = (Graphics2D) strategy.getDrawGraphics();
+                try {
+                    g2.setColor(getBackground());
+                    g2.fillRect(0, 0, getWidth(), getHeight());
+                    renderer.render(g2);
+                } finally {
+                    g2.dispose();
+                }
+            } while (strategy.contentsRestored());
+            strategy.show();
+        } while (strategy.contentsLost());
+
+        // flush the pipeline so the frame is on screen now, not when the os decides
+        Toolkit.getDefaultToolkit().sync();
+        lastPresentNanos = System.nanoTime() - start;
+        return true;
+    }
+
+    // forgets the interval history, e.g. after the game was paused
+    public void resetTiming() {
+        previousPresentStart = 0;
+        lastFrameIntervalNanos = 0;
+    }
+
+    // the buffer strategy belongs to the native peer, drop it with the peer
+    @Override
+    public void removeNotify() {
+        strategy = null;
+        super.removeNotify();
+    }
+
+    public long getLastPresentNanos() {
+        return lastPresentNanos;
+    }
+
+    public long getLastFrameIntervalNanos() {
+        return lastFrameIntervalNanos;
+    }
+}
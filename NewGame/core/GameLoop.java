@@ -0,0 +1,138 @@
+/*
+Name: GameLoop.java
+Authors: Hamza Khan & Alec Li
+Date: January 16, 2026
+Description: Fixed-timestep game loop thread that steps the simulation independently of painting.
+*/
+
+package core;
+
+import java.util.concurrent.locks.LockSupport;
+
+public class GameLoop implements Runnable {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    // callback that advances the simulation by exactly one fixed step
+    public interface Stepper {
+        void step(double deltaSeconds);
+    }
+
+    private final long stepNanos;
+    private final double stepSeconds;
+    private final int maxCatchUpSteps;
+    private final Stepper stepper;
+    private final Runnable frameCallback;
+
+    private Thread thread;
+    private volatile boolean running;
+
+    // statistics are written by the loop thread only and read by the ui
+    private volatile long stepCount;
+    private volatile long caughtUpSteps;
+    private volatile long droppedSteps;
+
+    // ticksPerSecond fixed sim steps per real second, at most maxCatchUpSteps per
+    // wakeup; frameCallback runs after every wakeup that stepped at least once
+    public GameLoop(int ticksPerSecond, int maxCatchUpSteps, Stepper stepper, Runnable frameCallback) {
+        this.stepNanos = NANOS_PER_SECOND / ticksPerSecond;
+        this.stepSeconds = 1.0 / ticksPerSecond;
+        this.maxCatchUpSteps = maxCatchUpSteps;
+        this.stepper = stepper;
+        this.frameCallback = frameCallback;
+    }
+
+    // starts a fresh loop thread, does nothing if already running
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this, "game-loop");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // stops the loop and waits for the current step to finish so callers can
+    // safely touch game state afterwards
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        Thread loopThread = thread;
+        thread = null;
+        LockSupport.unpark(loopThread);
+        if (loopThread != Thread.currentThread()) {
+            try {
+                loopThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public void run() {
+        long previous = System.nanoTime();
+        long accumulator = 0;
+
+        while (running) {
+            long now = System.nanoTime();
+            accumulator += now - previous;
+            previous = now;
+
+            // run as many fixed steps as real time demands, up to the catch-up cap
+            int steps = 0;
+            while (accumulator >= stepNanos && steps < maxCatchUpSteps && running) {
+                stepper.step(stepSeconds);
+                accumulator -= stepNanos;
+                steps++;
+            }
+            stepCount += steps;
+            if (steps > 1) {
+                caughtUpSteps += steps - 1;
+            }
+
+            // still behind after the cap: drop the backlog instead of spiralling
+            if (accumulator >= stepNanos) {
+                long behind = accumulator / stepNanos;
+                droppedSteps += behind;
+                accumulator -= behind * stepNanos;
+            }
+
+            if (steps > 0 && running) {
+                frameCallback.run();
+            }
+
+            // sleep until the next step is due
+            long sleepNanos = stepNanos - accumulator - (System.nanoTime() - previous);
+            if (sleepNanos > 0) {
+                LockSupport.parkNanos(sleepNanos);
+            }
+        }
+    }
+
+    public double getStepSeconds() {
+        return stepSeconds;
+    }
+
+    // total fixed steps simulated since this loop was created
+    public long getStepCount() {
+        return stepCount;
+    }
+
+    // extra steps run in a single wakeup to catch up after a late wakeup
+    public long getCaughtUpSteps() {
+        return caughtUpSteps;
+    }
+
+    // steps skipped because the loop fell further behind than the catch-up cap
+    public long getDroppedSteps() {
+        return droppedSteps;
+    }
+}
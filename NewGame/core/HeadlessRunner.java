@@ -0,0 +1,82 @@
+/*
+Name: HeadlessRunner.java
+Authors: Hamza Khan & Alec Li
+Date: January 16, 2026
+Description: Steps the simulation without a display as fast as possible, for benchmarks and balance runs.
+*/
+
+package core;
+
+import enemy.Enemy;
+import replay.ReplayRecorder;
+import util.Utils;
+
+public class HeadlessRunner {
+
+    private static final double DELTA_SECONDS = 1.0 / 60;
+    private static final int DEFAULT_TICKS = 36_000; // ten minutes of game time
+
+    // runs an autopilot that stands still and aims at the nearest enemy, skipping
+    // the shop between waves
+    // usage: java -Djava.awt.headless=true core.HeadlessRunner [ticks]
+    // add -Dgame.recordReplay=<directory> to save the run for replay.ReplayRunner
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        int ticks = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TICKS;
+
+        World world = new World();
+        InputFrame input = new InputFrame();
+        world.startNewGame();
+        ReplayRecorder recorder = ReplayRecorder.startIfEnabled(world.getSeed(), (int) Math.round(1 / DELTA_SECONDS));
+
+        long start = System.nanoTime();
+        int ticksRun = 0;
+        while (ticksRun < ticks && !world.isGameOver()) {
+            if (world.isShowingShop()) {
+                if (recorder != null) {
+                    recorder.recordResume();
+                }
+                world.resumeFromShop();
+            }
+            aimAtNearestEnemy(world, input);
+            input.setBeamPathReady(world.isBeamPathReady());
+            if (recorder != null) {
+                recorder.recordFrame(input);
+            }
+            world.step(DELTA_SECONDS, input);
+            input.clearActions();
+            if (recorder != null) {
+                recorder.endTick(world);
+            }
+            ticksRun++;
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        if (recorder != null) {
+            recorder.finish(world);
+            System.out.println("replay written to " + recorder.getPath());
+        }
+
+        System.out.printf("ticks=%d wave=%d score=%d enemies=%d game_over=%b%n", ticksRun,
+                world.getWaveManager().getWaveNumber(), world.getScoreManager().getScore(),
+                world.getEnemies().size(), world.isGameOver());
+        System.out.printf("%.1f ms total, %.0f ticks/s%n", elapsedNanos / 1e6,
+                ticksRun / (elapsedNanos / 1e9));
+    }
+
+    private static void aimAtNearestEnemy(World world, InputFrame input) {
+        double playerX = world.getPlayer().getX();
+        double playerY = world.getPlayer().getY();
+        double bestDistSq = Double.MAX_VALUE;
+        double aimX = playerX + 1;
+        double aimY = playerY;
+        for (Enemy enemy : world.getEnemies()) {
+            double distSq = Utils.distanceSquared(playerX, playerY, enemy.getX(), enemy.getY());
+            if (distSq < bestDistSq) {
+                bestDistSq = distSq;
+                aimX = enemy.getX();
+                aimY = enemy.getY();
+            }
+        }
+        input.setAim(aimX, aimY);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+Name: InputFrame.java
+Authors: Hamza Khan & Alec Li
+Date: January 16, 2026
+Description: Player input sampled for a single simulation step, in world coordinates.
+*/
+
+package core;
+
+public class InputFrame {
+
+    private boolean up;
+    private boolean down;
+    private boolean left;
+    private boolean right;
+
+    // where the player is aiming, in world coordinates
+    private double aimX;
+    private double aimY;
+
+    // right-click beam request, in world coordinates
+    private boolean beamRequested;
+    private double beamTargetX;
+    private double beamTargetY;
+
+    // whether a finished background beam solve is swapped in on this step
+    private boolean beamPathReady;
+
+    // sets the movement keys held during this step
+    public void setMovement(boolean up, boolean down, boolean left, boolean right) {
+        this.up = up;
+        this.down = down;
+        this.left = left;
+        this.right = right;
+    }
+
+    public void setAim(double aimX, double aimY) {
+        this.aimX = aimX;
+        this.aimY = aimY;
+    }
+
+    // requests the beam ability on the enemy under the given world position
+    public void requestBeam(double targetX, double targetY) {
+        beamRequested = true;
+        beamTargetX = targetX;
+        beamTargetY = targetY;
+    }
+
+    public void setBeamPathReady(boolean beamPathReady) {
+        this.beamPathReady = beamPathReady;
+    }
+
+    // clears one-shot actions so the frame can be reused for the next step
+    public void clearActions() {
+        beamRequested = false;
+        beamPathReady = false;
+    }
+
+    public boolean isUp() {
+        return up;
+    }
+
+    public boolean isDown() {
+        return down;
+    }
+
+    public boolean isLeft() {
+        return left;
+    }
+
+    public boolean isRight() {
+        return right;
+    }
+
+    public double getAimX() {
+        return aimX;
+    }
+
+    public double getAimY() {
+        return aimY;
+    }
+
+    public boolean isBeamRequested() {
+        return beamRequested;
+    }
+
+    public double getBeamTargetX() {
+        return beamTargetX;
+    }
+
+    public double getBeamTargetY() {
+        return beamTargetY;
+    }
+
+    public boolean isBeamPathReady() {
+        return beamPathReady;
+    }
+}
@@ -0,0 +1,624 @@
+/*
+Name: World.java
+Authors: Hamza Khan & Alec Li
+Date: January 16, 2026
+Description: Headless simulation core. Owns all game state and advances it one step at a time.
+*/
+
+package core;
+
+import entity.Character;
+import entity.Bullet;
+import entity.BulletBuffer;
+import entity.BulletIndex;
+import entity.PlayerSnapshot;
+import enemy.Enemy;
+import enemy.EnemyPool;
+import enemy.EnemyStore;
+import enemy.HexagonEnemy;
+import manager.WaveManager;
+import manager.CollisionManager;
+import manager.ParticleManager;
+import manager.ScoreManager;
+import manager.ShopController;
+import ability.BeamAbility;
+import ability.TSPSolver;
+import profiling.TickEvent;
+import util.FrameProfiler;
+import util.GameClock;
+import util.TickScalingLog;
+import util.Utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+public class World {
+
+    private static final boolean DEV_MODE = false;
+    // run with -Dgame.stress=true for an endless swarm, tuned with
+    // -Dgame.stress.rate (enemies per second) and -Dgame.stress.cap (most alive)
+    private static final boolean STRESS_MODE = Boolean.getBoolean("game.stress");
+    private static final int STRESS_SPAWNS_PER_SECOND = Integer.getInteger("game.stress.rate", 1000);
+    private static final int STRESS_CAP = Integer.getInteger("game.stress.cap", 10_000);
+    public static final int MAP_WIDTH = 2000;
+    public static final int MAP_HEIGHT = 2000;
+
+    // hexagon split constants
+    private static final int HEX_SPLIT_COUNT = 6;
+    private static final double HEX_SPLIT_TRIANGLE_RADIUS = 14;
+    private static final double HEX_SPLIT_TRIANGLE_HEALTH = 40;
+    private static final double HEX_SPLIT_TRIANGLE_DAMAGE = 5;
+    private static final double HEX_SPLIT_TRIANGLE_SPEED = 280;
+    public static final long ULTIMATE_COOLDOWN_MS = 10_000;
+    private static final double BULLET_INDEX_CELL_SIZE = 150; // square dodge radius
+    // far enough in the past that every cooldown has expired
+    private static final long NEVER = Long.MIN_VALUE / 2;
+
+    // one daemon thread shared by every world; tsp solves queue behind each other
+    // instead of stalling the step that activated the beam
+    private static final Executor BACKGROUND_SOLVER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "beam-solver");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // game entities
+    private Character player;
+    private final BulletBuffer bullets;
+    private final Bullet bulletView = new Bullet(); // reused for collision checks
+    private final EnemyStore enemies;
+    // enemies that left the game this step, waiting for score and effects
+    private final List<Enemy> removedEnemies = new ArrayList<>();
+    private final List<HexagonEnemy> removedHexagons = new ArrayList<>();
+    // enemies spawned during updateEnemies, reused between steps
+    private final List<Enemy> spawnedFromDeaths = new ArrayList<>();
+    private final List<Enemy> spawnedFromSpawners = new ArrayList<>();
+    private final BulletIndex bulletIndex;
+
+    // simulated time, advanced once per step
+    private final GameClock clock;
+
+    // managers
+    private final WaveManager waveManager;
+    private final CollisionManager collisionManager;
+    private final ParticleManager particleManager;
+    private final ScoreManager scoreManager;
+    private final ShopController shopController;
+    private final BeamAbility beamAbility;
+    private final Executor solverExecutor;
+    private final FrameProfiler profiler; // per-phase step timings, the panel adds paint phases
+    private final TickScalingLog scalingLog; // tick time against enemy count, stress mode only
+
+    // state
+    private long lastShotTime = NEVER;
+    private long lastUltimateTime = NEVER;
+    private boolean showingShop = false;
+    private boolean gamePaused = false;
+    private boolean gameOver = false;
+    private WorldListener listener;
+    private long seed;
+
+    // notified from inside step() when the simulation reaches a screen transition
+    public interface WorldListener {
+        void onShopOpen();
+
+        void onGameOver();
+    }
+
+    public World() {
+        this(BACKGROUND_SOLVER);
+    }
+
+    // pass Runnable::run to solve on the calling thread, which makes the
+    // refined path arrive on the very next step
+    public World(Executor solverExecutor) {
+        this.solverExecutor = solverExecutor;
+        player = new Character(MAP_WIDTH / 2.0, MAP_HEIGHT / 2.0);
+        bullets = new BulletBuffer();
+        enemies = new EnemyStore();
+        bulletIndex = new BulletIndex(MAP_WIDTH, MAP_HEIGHT, BULLET_INDEX_CELL_SIZE);
+
+        clock = new GameClock();
+        waveManager = new WaveManager(MAP_WIDTH, MAP_HEIGHT, clock);
+        collisionManager = new CollisionManager(MAP_WIDTH, MAP_HEIGHT);
+        particleManager = new ParticleManager();
+        scoreManager = new ScoreManager();
+        shopController = new ShopController();
+        beamAbility = new BeamAbility(clock);
+        profiler = new FrameProfiler();
+        scalingLog = new TickScalingLog();
+    }
+
+    public void setListener(WorldListener listener) {
+        this.listener = listener;
+    }
+
+    // resets all game state and starts a fresh game with a new seed
+    public void startNewGame() {
+        startNewGame(System.nanoTime());
+    }
+
+    // starts a fresh game whose randomness all comes from the given seed, so the
+    // same seed and the same inputs always play out the same way
+    public void startNewGame(long seed) {
+        this.seed = seed;
+        clock.reset();
+        waveManager.setSeed(seed);
+        particleManager.setSeed(seed + 1);
+        profiler.clear();
+        scalingLog.clear();
+        scoreManager.reset();
+        player = new Character(MAP_WIDTH / 2.0, MAP_HEIGHT / 2.0);
+        bullets.clear();
+        enemies.releaseAll();
+        particleManager.clear();
+        beamAbility.deactivate();
+        lastShotTime = NEVER;
+        lastUltimateTime = NEVER;
+        showingShop = false;
+        gamePaused = false;
+        gameOver = false;
+
+        if (STRESS_MODE) {
+            waveManager.startStressWave(STRESS_SPAWNS_PER_SECOND, STRESS_CAP, enemies, bullets);
+        } else if (DEV_MODE) {
+            waveManager.setupRoundZero(enemies, bullets);
+        } else {
+            waveManager.startNewWave(1, enemies, bullets);
+        }
+    }
+
+    // returns to gameplay and starts the next wave after shop
+    public void resumeFromShop() {
+        showingShop = false;
+        int nextWave = (waveManager.getWaveNumber() == 0) ? 1 : waveManager.getWaveNumber() + 1;
+        waveManager.startNewWave(nextWave, enemies, bullets);
+    }
+
+    // processes a shop purchase and updates player stats
+    public void handleShopPurchase(int buttonIndex) {
+        ShopController.ShopPurchaseResult result = shopController.handlePurchase(buttonIndex, player, scoreManager);
+        if (result.getType() == ShopController.ShopPurchaseType.SCORE_PURCHASED) {
+            scoreManager.addScore(result.getScoreAwarded());
+        }
+    }
+
+    // advances the whole simulation by one step using the given input
+    public void step(double deltaSeconds, InputFrame input) {
+        // flight recorder events cost next to nothing unless a recording enables them
+        TickEvent event = new TickEvent();
+        event.begin();
+        long start = System.nanoTime();
+        profiler.clearLast(FrameProfiler.STEP, FrameProfiler.PARTICLES);
+        profiler.setWave(waveManager.getWaveNumber());
+        simulate(deltaSeconds, input);
+        profiler.record(FrameProfiler.STEP, start);
+        if (STRESS_MODE) {
+            scalingLog.record(enemies.size(), profiler.getLastNanos(FrameProfiler.STEP));
+        }
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.wave = waveManager.getWaveNumber();
+            event.enemies = enemies.size();
+            event.bullets = bullets.size();
+            event.setPhases(profiler);
+            event.commit();
+        }
+    }
+
+    // the step itself, each phase timed on its own
+    private void simulate(double deltaSeconds, InputFrame input) {
+        // the world freezes on the step that ends the game, so the score and wave
+        // handed to the game over screen are final even if the loop runs on until
+        // the edt stops it
+        if (gameOver)
+            return;
+        long phaseStart = System.nanoTime();
+        clock.advance(deltaSeconds);
+
+        if (input.isBeamRequested()) {
+            handleBeamRequest(input.getBeamTargetX(), input.getBeamTargetY());
+        }
+        // the background solve finishes whenever it finishes, so when its path is
+        // swapped in is part of the input rather than the simulation
+        if (input.isBeamPathReady()) {
+            beamAbility.applyRefinedPath();
+        }
+
+        // update beam ability (always update, even when paused)
+        // we need to track if beam was active before and after update to detect when it
+        // finishes
+        boolean beamWasActive = beamAbility.isActive();
+        boolean beamStillActive = beamAbility.update(deltaSeconds);
+
+        // if beam just finished, unpause game and process dead enemies
+        // the beam was active last frame but isn't anymore = animation complete
+        if (beamWasActive && !beamStillActive) {
+            gamePaused = false;
+            updateEnemies(0.0);
+        }
+        phaseStart = profiler.lap(FrameProfiler.BEAM, phaseStart);
+
+        // pause game updates during beam (but still update beam animation)
+        // this freezes enemies, bullets, and player movement while beam travels
+        if (gamePaused && beamAbility.isActive()) {
+            return;
+        }
+
+        if (!showingShop) {
+            updatePlayer(deltaSeconds, input);
+            phaseStart = profiler.lap(FrameProfiler.PLAYER, phaseStart);
+            updateShooting(input);
+            phaseStart = profiler.lap(FrameProfiler.SHOOTING, phaseStart);
+            updateBullets(deltaSeconds);
+            phaseStart = profiler.lap(FrameProfiler.BULLETS, phaseStart);
+            updateEnemies(deltaSeconds);
+            phaseStart = profiler.lap(FrameProfiler.ENEMIES, phaseStart);
+            waveManager.updateSpawning(enemies);
+            phaseStart = profiler.lap(FrameProfiler.SPAWNING, phaseStart);
+            updateWaveProgress();
+            phaseStart = profiler.lap(FrameProfiler.WAVES, phaseStart);
+            particleManager.update(deltaSeconds);
+            profiler.lap(FrameProfiler.PARTICLES, phaseStart);
+
+            // the player can't die in stress mode, so the swarm keeps growing
+            if (player.getHealthLeft() <= 0 && !gameOver && !STRESS_MODE) {
+                gameOver = true;
+                waveManager.endWave("game over");
+                scoreManager.updateHighScore();
+                if (listener != null) {
+                    listener.onGameOver();
+                }
+            }
+        }
+    }
+
+    // handles right-click to activate beam ability on all enemies of the clicked
+    // type
+    private void handleBeamRequest(double worldX, double worldY) {
+        if (showingShop || gamePaused)
+            return;
+
+        long now = clock.millis();
+        if (now - lastUltimateTime < ULTIMATE_COOLDOWN_MS)
+            return;
+
+        Enemy clickedEnemy = findEnemyAt(worldX, worldY);
+        if (clickedEnemy == null || !clickedEnemy.isAlive())
+            return;
+
+        // find all enemies of same type
+        List<Enemy> enemiesOfType = new ArrayList<>();
+        for (Enemy enemy : enemies.sameTypeAs(clickedEnemy)) {
+            if (enemy.isAlive()) {
+                enemiesOfType.add(enemy);
+            }
+        }
+
+        if (!enemiesOfType.isEmpty()) {
+            activateUltimateAbility(enemiesOfType);
+            lastUltimateTime = now;
+        }
+    }
+
+    // returns the enemy at the given world position for beam ability
+    private Enemy findEnemyAt(double worldX, double worldY) {
+        for (Enemy enemy : enemies.all()) {
+            if (enemy.isAlive()) {
+                double distance = Utils.distance(worldX, worldY, enemy.getX(), enemy.getY());
+                if (distance <= enemy.getRadius()) {
+                    return enemy;
+                }
+            }
+        }
+        return null;
+    }
+
+    // activates beam ability on a greedy path right away, then solves tsp for a
+    // shorter path in the background and hands it to the beam when done
+    private void activateUltimateAbility(List<Enemy> targetEnemies) {
+        double[] xs = new double[targetEnemies.size()];
+        double[] ys = new double[targetEnemies.size()];
+        int n = 0;
+        for (Enemy enemy : targetEnemies) {
+            if (enemy != null && enemy.isAlive()) {
+                xs[n] = enemy.getX();
+                ys[n] = enemy.getY();
+                n++;
+            }
+        }
+        if (n == 0)
+            return;
+
+        double startX = player.getX();
+        double startY = player.getY();
+        int[] greedyOrder = TSPSolver.solveGreedy(startX, startY, xs, ys, n);
+
+        gamePaused = true;
+        BeamAbility beam = beamAbility;
+        long activation = beam.activate(startX, startY, xs, ys, n, greedyOrder, targetEnemies, particleManager);
+
+        // the solver only sees its own copies of the positions, never live enemies
+        if (TSPSolver.canImproveOnGreedy(n)) {
+            int pointCount = n;
+            solverExecutor.execute(() -> {
+                beam.offerRefinedPath(activation, TSPSolver.solve(startX, startY, xs, ys, pointCount));
+            });
+        }
+    }
+
+    // moves player based on wasd input and rotates toward the aim point
+    private void updatePlayer(double deltaSeconds, InputFrame input) {
+        double dx = 0, dy = 0;
+        if (input.isUp())
+            dy -= 1;
+        if (input.isDown())
+            dy += 1;
+        if (input.isLeft())
+            dx -= 1;
+        if (input.isRight())
+            dx += 1;
+
+        player.update(dx, dy, deltaSeconds, MAP_WIDTH, MAP_HEIGHT);
+        player.setAngleToward(input.getAimX(), input.getAimY());
+    }
+
+    // fires bullets toward the aim point at player's fire rate
+    private void updateShooting(InputFrame input) {
+        long now = clock.millis();
+        long fireInterval = (long) (1000 / player.getFireRate());
+
+        if (now - lastShotTime >= fireInterval) {
+            double originX = player.getX();
+            double originY = player.getY();
+            double targetX = input.getAimX();
+            double targetY = input.getAimY();
+
+            // normalized inline (default direction +x, like Utils.normalizeWithDefault)
+            // so firing allocates nothing
+            double dx = targetX - originX;
+            double dy = targetY - originY;
+            double length = Math.sqrt(dx * dx + dy * dy);
+            double velocityX = player.getBulletSpeed();
+            double velocityY = 0;
+            if (length != 0) {
+                velocityX = dx / length * player.getBulletSpeed();
+                velocityY = dy / length * player.getBulletSpeed();
+            }
+
+            bullets.add(originX, originY, velocityX, velocityY, player.getBulletDamage(), true);
+            lastShotTime = now;
+        }
+    }
+
+    // moves bullets and checks for collisions with enemies or player
+    // phase entry point: step runs this in order with the other phases, calling
+    // it alone (as bench.HotPathBenchmark does) skips input, timing and waves
+    public void updateBullets(double deltaSeconds) {
+        // enemies hold still during this phase, so one index serves every bullet
+        collisionManager.indexEnemies(enemies.all());
+
+        bullets.update(deltaSeconds);
+
+        // walk backwards so swap-remove only moves bullets that were already checked
+        for (int i = bullets.size() - 1; i >= 0; i--) {
+            Bullet bullet = bullets.load(i, bulletView);
+            boolean remove = false;
+
+            if (bullet.isOutOfBounds(0, 0, MAP_WIDTH, MAP_HEIGHT)) {
+                remove = true;
+            } else if (bullet.isFromPlayer()) {
+                // broadphase: only enemies in nearby grid cells are tested
+                Enemy enemy = collisionManager.findEnemyHitBy(bullet);
+                if (enemy != null) {
+                    enemy.takeDamage(bullet.getDamage());
+                    remove = true;
+                }
+            } else if (collisionManager.bulletHitsPlayer(bullet, player)) {
+                player.takeDamage(bullet.getDamage());
+                remove = true;
+            }
+
+            if (remove)
+                bullets.remove(i);
+        }
+    }
+
+    // updates enemy ai, spawning, collisions, and death effects
+    // phase entry point, like updateBullets
+    public void updateEnemies(double deltaSeconds) {
+        // keep track of new enemies spawned during this update
+        // we can't add directly to enemies list while iterating
+        spawnedFromDeaths.clear();
+        spawnedFromSpawners.clear();
+
+        // squares query nearby player bullets, index them once for the whole pass
+        bulletIndex.build(bullets);
+
+        // drop killed enemies, then move the living ones one type at a time
+        // (stars also get to spawn here). the ai may run on several threads, so
+        // enemies only see a copy of the player, and the bullets, spawns and
+        // damage they produce are applied afterwards in a fixed order
+        enemies.removeKilled(removedEnemies, removedHexagons);
+        handleEnemyDeaths();
+        enemies.update(deltaSeconds, new PlayerSnapshot(player), bulletIndex, MAP_WIDTH, MAP_HEIGHT);
+        enemies.applyEffects(bullets, player, spawnedFromSpawners);
+
+        // push enemies apart if they're overlapping
+        long collisionStart = System.nanoTime();
+        collisionManager.resolveEnemyCollisions(enemies.all());
+        profiler.record(FrameProfiler.COLLISIONS, collisionStart);
+
+        // if enemy touches player, deal damage and remove the enemy
+        enemies.removeTouching(player, removedEnemies, removedHexagons);
+        handleEnemyDeaths();
+
+        // add all newly spawned enemies to their buckets
+        enemies.addAll(spawnedFromDeaths);
+        enemies.addAll(spawnedFromSpawners);
+    }
+
+    // awards score and plays the death effect for enemies leaving the game,
+    // then hands them back to the pool for later spawns
+    private void handleEnemyDeaths() {
+        for (int i = 0; i < removedEnemies.size(); i++) {
+            Enemy enemy = removedEnemies.get(i);
+            scoreManager.awardScoreForEnemy(enemy);
+            particleManager.spawnDeathEffect(enemy);
+        }
+        // hexagon enemies split into 6 triangles when they die
+        for (int i = 0; i < removedHexagons.size(); i++) {
+            spawnHexSplit(removedHexagons.get(i), spawnedFromDeaths);
+        }
+        EnemyPool enemyPool = enemies.getPool();
+        for (int i = 0; i < removedEnemies.size(); i++) {
+            enemyPool.release(removedEnemies.get(i));
+        }
+        removedEnemies.clear();
+        removedHexagons.clear();
+    }
+
+    // checks if wave is complete and opens shop when all enemies are defeated
+    private void updateWaveProgress() {
+        if (waveManager.getWaveNumber() == 0) {
+            if (enemies.isEmpty() && !showingShop) {
+                scoreManager.awardWaveCurrency(0);
+                openShop();
+            }
+            return;
+        }
+
+        // wave completes when spawning is done and all enemies are dead
+        if (waveManager.isSpawningComplete() && enemies.isEmpty() && !showingShop) {
+            scoreManager.awardWaveCurrency(waveManager.getWaveNumber());
+            openShop();
+        }
+    }
+
+    private void openShop() {
+        waveManager.endWave("cleared");
+        showingShop = true;
+        if (listener != null) {
+            listener.onShopOpen();
+        }
+    }
+
+    // spawns 6 triangle enemies in a circle when a hexagon enemy dies
+    private void spawnHexSplit(HexagonEnemy hex, List<Enemy> collector) {
+        double centerX = hex.getX();
+        double centerY = hex.getY();
+        double spawnDistance = hex.getRadius();
+
+        // spawn 6 triangles in a circle
+        for (int i = 0; i < HEX_SPLIT_COUNT; i++) {
+            double angle = i * (2 * Math.PI / HEX_SPLIT_COUNT);
+            double spawnX = centerX + Math.cos(angle) * spawnDistance;
+            double spawnY = centerY + Math.sin(angle) * spawnDistance;
+            collector.add(enemies.getPool().acquireTriangle(spawnX, spawnY,
+                    HEX_SPLIT_TRIANGLE_RADIUS, HEX_SPLIT_TRIANGLE_HEALTH,
+                    HEX_SPLIT_TRIANGLE_DAMAGE, HEX_SPLIT_TRIANGLE_SPEED));
+        }
+    }
+
+    // accessor methods for rendering and the parent container
+    public Character getPlayer() {
+        return player;
+    }
+
+    public BulletBuffer getBullets() {
+        return bullets;
+    }
+
+    // every live enemy; the list is reused between steps
+    public List<Enemy> getEnemies() {
+        return enemies.all();
+    }
+
+    public EnemyStore getEnemyStore() {
+        return enemies;
+    }
+
+    public WaveManager getWaveManager() {
+        return waveManager;
+    }
+
+    public ParticleManager getParticleManager() {
+        return particleManager;
+    }
+
+    public BeamAbility getBeamAbility() {
+        return beamAbility;
+    }
+
+    public boolean isStressMode() {
+        return STRESS_MODE;
+    }
+
+    public TickScalingLog getScalingLog() {
+        return scalingLog;
+    }
+
+    public FrameProfiler getProfiler() {
+        return profiler;
+    }
+
+    public GameClock getClock() {
+        return clock;
+    }
+
+    public ScoreManager getScoreManager() {
+        return scoreManager;
+    }
+
+    public long getLastUltimateTime() {
+        return lastUltimateTime;
+    }
+
+    // true once a background beam solve is waiting to be swapped in
+    public boolean isBeamPathReady() {
+        return beamAbility.hasRefinedPath();
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    // hash of the state a replay has to reproduce exactly; positions are hashed
+    // by their bits so any drift at all shows up
+    public long stateHash() {
+        long hash = 17;
+        hash = mix(hash, clock.nanoTime());
+        hash = mix(hash, Double.doubleToLongBits(player.getX()));
+        hash = mix(hash, Double.doubleToLongBits(player.getY()));
+        hash = mix(hash, Double.doubleToLongBits(player.getHealthLeft()));
+        for (Enemy enemy : enemies.all()) {
+            hash = mix(hash, Double.doubleToLongBits(enemy.getX()));
+            hash = mix(hash, Double.doubleToLongBits(enemy.getY()));
+            hash = mix(hash, Double.doubleToLongBits(enemy.getHealthLeft()));
+        }
+        for (int i = 0; i < bullets.size(); i++) {
+            hash = mix(hash, Double.doubleToLongBits(bullets.getX(i)));
+            hash = mix(hash, Double.doubleToLongBits(bullets.getY(i)));
+        }
+        hash = mix(hash, scoreManager.getScore());
+        hash = mix(hash, scoreManager.getCurrency());
+        hash = mix(hash, waveManager.getWaveNumber());
+        hash = mix(hash, beamAbility.isActive() ? 1 : 0);
+        return hash;
+    }
+
+    private static long mix(long hash, long value) {
+        return hash * 31 + value;
+    }
+
+    public boolean isShowingShop() {
+        return showingShop;
+    }
+
+    public boolean isGameOver() {
+        return gameOver;
+    }
+}
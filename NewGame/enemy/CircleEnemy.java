@@ -7,13 +7,12 @@ Description: Suicide bomber enemy with visible force field radius. Explodes when
 
 package enemy;
 
-import entity.Character;
-import entity.Bullet;
+import entity.PlayerSnapshot;
+import entity.BulletIndex;
 import util.Utils;
 
 import java.awt.Color;
 import java.awt.Graphics2D;
-import java.util.List;
 
 public class CircleEnemy extends Enemy {
 
@@ -22,7 +21,7 @@ public class CircleEnemy extends Enemy {
     private static final Color FORCE_FIELD_BORDER = new Color(120, 120, 255, 120);
     public static final Color BODY_COLOR = new Color(120, 120, 255);
 
-    private final double forceFieldRadius;
+    private double forceFieldRadius;
 
     // constructor with force field radius for explosion
     public CircleEnemy(double x,
@@ -36,6 +35,18 @@ public class CircleEnemy extends Enemy {
         this.forceFieldRadius = forceFieldRadius;
     }
 
+    // re-initializes a pooled circle, force field included
+    public void reset(double x,
+            double y,
+            double radius,
+            double maxHealth,
+            double explosionDamage,
+            double movementSpeed,
+            double forceFieldRadius) {
+        reset(x, y, radius, maxHealth, explosionDamage, movementSpeed);
+        this.forceFieldRadius = forceFieldRadius;
+    }
+
     @Override
     public int getScoreValue() {
         return SCORE_VALUE;
@@ -43,8 +54,9 @@ public class CircleEnemy extends Enemy {
 
     @Override
     public void update(double deltaSeconds,
-            Character player,
-            List<Bullet> bullets,
+            PlayerSnapshot player,
+            EnemyEffects effects,
+            BulletIndex bulletIndex,
             int mapWidth,
             int mapHeight) {
         double dx = player.getX() - x;
@@ -57,7 +69,7 @@ public class CircleEnemy extends Enemy {
         // check if player has entered the force field - if so, explode
         // we use squared distance comparison to avoid expensive sqrt calculation
         if (distanceSq <= triggerRadius * triggerRadius) {
-            player.takeDamage(bodyDamage); // deal explosion damage
+            effects.damagePlayer(bodyDamage); // deal explosion damage, applied after the ai phase
             healthLeft = 0; // destroy self
             return;
         }
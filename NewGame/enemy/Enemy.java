@@ -9,13 +9,13 @@ package enemy;
 
 import entity.Entity;
 import entity.Character;
-import entity.Bullet;
+import entity.PlayerSnapshot;
+import entity.BulletIndex;
 import util.Utils;
 
 import java.awt.Color;
 import java.awt.Graphics2D;
-import java.awt.geom.AffineTransform;
-import java.util.List;
+import java.awt.image.BufferedImage;
 
 public abstract class Enemy extends Entity {
 
@@ -33,6 +33,8 @@ public abstract class Enemy extends Entity {
     protected double movementSpeed; // pixels per second
     protected Color customColor = null; // overrides default color if set (used by spawned enemies)
     protected double angle = -Math.PI / 2; // current facing direction (default facing up)
+    private BufferedImage[] sprites; // angle buckets for this enemy's look, resolved on first draw
+    private int generation; // bumped on every reset, so old references can tell the enemy was recycled
 
     public Enemy(double x,
             double y,
@@ -45,9 +47,37 @@ public abstract class Enemy extends Entity {
         this.movementSpeed = movementSpeed;
     }
 
+    // re-initializes a pooled enemy as if it had just been constructed;
+    // subclasses clear their own state on top of this
+    public void reset(double x,
+            double y,
+            double radius,
+            double maxHealth,
+            double bodyDamage,
+            double movementSpeed) {
+        this.x = x;
+        this.y = y;
+        this.radius = radius;
+        this.maxHealth = maxHealth;
+        this.healthLeft = maxHealth;
+        this.bodyDamage = bodyDamage;
+        this.movementSpeed = movementSpeed;
+        customColor = null;
+        angle = -Math.PI / 2;
+        sprites = null; // the color or radius may have changed
+        generation++;
+    }
+
+    // changes whenever the enemy is recycled; anything holding on to an enemy
+    // across steps compares this to know it is still the same one
+    public int getGeneration() {
+        return generation;
+    }
+
     public abstract void update(double deltaSeconds,
-            Character player,
-            List<Bullet> bullets,
+            PlayerSnapshot player,
+            EnemyEffects effects,
+            BulletIndex bulletIndex,
             int mapWidth,
             int mapHeight);
 
@@ -120,23 +150,30 @@ public abstract class Enemy extends Entity {
         player.takeDamage(bodyDamage);
     }
 
-    // renders enemy with rotation, delegating body rendering to subclass
+    // renders enemy as a pre-rotated sprite from the sprite cache, the body is
+    // only rasterized the first time its type, color and angle bucket is seen
     // health bar is rendered in screen space (unrotated)
     public void draw(Graphics2D g2) {
-        AffineTransform old = g2.getTransform();
-        g2.translate(x, y);
-        g2.rotate(angle + Math.PI / 2); // +pi/2 so "up" is default orientation
-
-        drawBody(g2); // subclass defines specific shape
-
-        g2.setTransform(old); // restore transform before drawing health bar
+        if (sprites == null) {
+            sprites = EnemySpriteCache.spritesFor(this);
+        }
+        int bucket = EnemySpriteCache.bucketOf(angle);
+        BufferedImage sprite = sprites[bucket];
+        if (sprite == null) {
+            sprite = EnemySpriteCache.render(this, bucket, g2.getDeviceConfiguration());
+            sprites[bucket] = sprite;
+        }
+        g2.drawImage(sprite, (int) Math.round(x) - sprite.getWidth() / 2,
+                (int) Math.round(y) - sprite.getHeight() / 2, null);
 
         // health bar above enemy
         drawHealthBar(g2);
     }
 
     // subclasses implement this to draw their specific shape
-    // called with transform already applied (rotated to enemy's angle)
+    // called with transform already applied (rotated to enemy's angle), centered
+    // on the origin; the result is cached, so it must only depend on type,
+    // customColor and radius
     protected abstract void drawBody(Graphics2D g2);
 
     // renders health bar above enemy with percentage-based fill
@@ -0,0 +1,65 @@
+/*
+Name: EnemyEffects.java
+Authors: Hamza Khan & Alec Li
+Date: January 16, 2026
+Description: Collects what enemies do to shared state during their update, to be applied afterwards.
+*/
+
+package enemy;
+
+import entity.Character;
+import entity.BulletBuffer;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class EnemyEffects {
+
+    private final BulletBuffer bullets = new BulletBuffer(); // fired by pentagons
+    private double playerDamage; // from exploding circles
+
+    // star spawns, where they happen and whether each is a square or a triangle
+    private double[] spawnX = new double[8];
+    private double[] spawnY = new double[8];
+    private boolean[] spawnSquare = new boolean[8];
+    private int spawnCount;
+
+    public BulletBuffer getBullets() {
+        return bullets;
+    }
+
+    public void spawnFromStar(double x, double y, boolean square) {
+        if (spawnCount == spawnX.length) {
+            spawnX = Arrays.copyOf(spawnX, spawnCount * 2);
+            spawnY = Arrays.copyOf(spawnY, spawnCount * 2);
+            spawnSquare = Arrays.copyOf(spawnSquare, spawnCount * 2);
+        }
+        spawnX[spawnCount] = x;
+        spawnY[spawnCount] = y;
+        spawnSquare[spawnCount] = square;
+        spawnCount++;
+    }
+
+    public void damagePlayer(double amount) {
+        playerDamage += amount;
+    }
+
+    // applies everything collected to the real game state and empties this
+    // buffer for the next step; star spawns are taken from the pool here, on
+    // the one thread that applies effects
+    public void drainInto(BulletBuffer worldBullets, EnemyPool pool, List<Enemy> spawnedOut, Character player) {
+        for (int i = 0; i < bullets.size(); i++) {
+            worldBullets.add(bullets.getX(i), bullets.getY(i), bullets.getVx(i), bullets.getVy(i),
+                    bullets.getDamage(i), bullets.isFromPlayer(i));
+        }
+        for (int i = 0; i < spawnCount; i++) {
+            spawnedOut.add(StarEnemy.createSpawn(pool, spawnX[i], spawnY[i], spawnSquare[i]));
+        }
+        if (playerDamage > 0) {
+            player.takeDamage(playerDamage);
+        }
+        bullets.clear();
+        spawnCount = 0;
+        playerDamage = 0;
+    }
+}
@@ -0,0 +1,123 @@
+/*
+Name: EnemyPool.java
+Authors: Hamza Khan & Alec Li
+Date: January 16, 2026
+Description: Free lists of dead enemies, one per type, reused for new spawns instead of allocating.
+*/
+
+package enemy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class EnemyPool {
+
+    // one free list per concrete type, so an acquire never needs a cast
+    private final List<TriangleEnemy> triangles = new ArrayList<>();
+    private final List<CircleEnemy> circles = new ArrayList<>();
+    private final List<SquareEnemy> squares = new ArrayList<>();
+    private final List<PentagonEnemy> pentagons = new ArrayList<>();
+    private final List<HexagonEnemy> hexagons = new ArrayList<>();
+    private final List<OctagonEnemy> octagons = new ArrayList<>();
+    private final List<StarEnemy> stars = new ArrayList<>();
+
+    // every acquire reuses the most recently released enemy of its type, or
+    // constructs one when the free list is empty
+    public TriangleEnemy acquireTriangle(double x, double y, double radius, double maxHealth,
+            double bodyDamage, double movementSpeed) {
+        if (triangles.isEmpty())
+            return new TriangleEnemy(x, y, radius, maxHealth, bodyDamage, movementSpeed);
+        TriangleEnemy enemy = triangles.remove(triangles.size() - 1);
+        enemy.reset(x, y, radius, maxHealth, bodyDamage, movementSpeed);
+        return enemy;
+    }
+
+    public CircleEnemy acquireCircle(double x, double y, double radius, double maxHealth,
+            double explosionDamage, double movementSpeed, double forceFieldRadius) {
+        if (circles.isEmpty())
+            return new CircleEnemy(x, y, radius, maxHealth, explosionDamage, movementSpeed, forceFieldRadius);
+        CircleEnemy enemy = circles.remove(circles.size() - 1);
+        enemy.reset(x, y, radius, maxHealth, explosionDamage, movementSpeed, forceFieldRadius);
+        return enemy;
+    }
+
+    public SquareEnemy acquireSquare(double x, double y, double halfSize, double maxHealth,
+            double bodyDamage, double movementSpeed, double dodgeRadius) {
+        if (squares.isEmpty())
+            return new SquareEnemy(x, y, halfSize, maxHealth, bodyDamage, movementSpeed, dodgeRadius);
+        SquareEnemy enemy = squares.remove(squares.size() - 1);
+        enemy.reset(x, y, halfSize, maxHealth, bodyDamage, movementSpeed, dodgeRadius);
+        return enemy;
+    }
+
+    public PentagonEnemy acquirePentagon(double x, double y, double radius, double maxHealth,
+            double bodyDamage, double movementSpeed) {
+        if (pentagons.isEmpty())
+            return new PentagonEnemy(x, y, radius, maxHealth, bodyDamage, movementSpeed);
+        PentagonEnemy enemy = pentagons.remove(pentagons.size() - 1);
+        enemy.reset(x, y, radius, maxHealth, bodyDamage, movementSpeed);
+        return enemy;
+    }
+
+    public HexagonEnemy acquireHexagon(double x, double y, double radius, double maxHealth,
+            double bodyDamage, double movementSpeed) {
+        if (hexagons.isEmpty())
+            return new HexagonEnemy(x, y, radius, maxHealth, bodyDamage, movementSpeed);
+        HexagonEnemy enemy = hexagons.remove(hexagons.size() - 1);
+        enemy.reset(x, y, radius, maxHealth, bodyDamage, movementSpeed);
+        return enemy;
+    }
+
+    public OctagonEnemy acquireOctagon(double x, double y, double radius, double maxHealth,
+            double bodyDamage, double movementSpeed) {
+        if (octagons.isEmpty())
+            return new OctagonEnemy(x, y, radius, maxHealth, bodyDamage, movementSpeed);
+        OctagonEnemy enemy = octagons.remove(octagons.size() - 1);
+        enemy.reset(x, y, radius, maxHealth, bodyDamage, movementSpeed);
+        return enemy;
+    }
+
+    public StarEnemy acquireStar(double x, double y, double radius, double maxHealth,
+            double bodyDamage, double movementSpeed) {
+        if (stars.isEmpty())
+            return new StarEnemy(x, y, radius, maxHealth, bodyDamage, movementSpeed);
+        StarEnemy enemy = stars.remove(stars.size() - 1);
+        enemy.reset(x, y, radius, maxHealth, bodyDamage, movementSpeed);
+        return enemy;
+    }
+
+    // hands an enemy back once nothing in the game refers to it any more;
+    // releasing one that is still in play would spawn it twice
+    public void release(Enemy enemy) {
+        if (enemy instanceof TriangleEnemy) {
+            triangles.add((TriangleEnemy) enemy);
+        } else if (enemy instanceof CircleEnemy) {
+            circles.add((CircleEnemy) enemy);
+        } else if (enemy instanceof SquareEnemy) {
+            squares.add((SquareEnemy) enemy);
+        } else if (enemy instanceof PentagonEnemy) {
+            pentagons.add((PentagonEnemy) enemy);
+        } else if (enemy instanceof HexagonEnemy) {
+            hexagons.add((HexagonEnemy) enemy);
+        } else if (enemy instanceof OctagonEnemy) {
+            octagons.add((OctagonEnemy) enemy);
+        } else if (enemy instanceof StarEnemy) {
+            stars.add((StarEnemy) enemy);
+        } else {
+            throw new IllegalArgumentException("no pool for " + enemy.getClass().getName());
+        }
+    }
+
+    // bulk release of a whole bucket, used when a wave ends
+    void releaseAll(List<? extends Enemy> bucket) {
+        for (int i = 0; i < bucket.size(); i++) {
+            release(bucket.get(i));
+        }
+    }
+
+    // enemies waiting to be reused, across all types
+    public int size() {
+        return triangles.size() + circles.size() + squares.size() + pentagons.size()
+                + hexagons.size() + octagons.size() + stars.size();
+    }
+}
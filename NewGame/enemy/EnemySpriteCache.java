@@ -0,0 +1,68 @@
+/*
+Name: EnemySpriteCache.java
+Authors: Hamza Khan & Alec Li
+Date: January 16, 2026
+Description: Lazily built atlas of pre-rotated enemy sprites keyed by type, color, size and angle bucket.
+*/
+
+package enemy;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
+
+public final class EnemySpriteCache {
+
+    public static final int ANGLE_BUCKETS = 64;
+    private static final double BUCKET_SIZE = 2 * Math.PI / ANGLE_BUCKETS;
+    private static final double EXTENT_RATIO = Math.sqrt(2); // square corners reach radius * sqrt(2)
+    private static final int PADDING = 2; // room for the antialiased outline
+
+    // one bucket array per look; buckets are filled the first time they are drawn
+    private static final Map<String, BufferedImage[]> SPRITES = new HashMap<>();
+
+    private EnemySpriteCache() {
+    }
+
+    // returns the shared bucket array for an enemy's type, color and size
+    // enemies look up their array once and keep it
+    static synchronized BufferedImage[] spritesFor(Enemy enemy) {
+        Color color = enemy.getCustomColor();
+        String key = enemy.getClass().getName() + ':' + (color == null ? "default" : color.getRGB())
+                + ':' + (int) enemy.getRadius();
+        return SPRITES.computeIfAbsent(key, k -> new BufferedImage[ANGLE_BUCKETS]);
+    }
+
+    // quantizes a facing angle to the nearest bucket
+    static int bucketOf(double angle) {
+        int bucket = (int) Math.round(angle / BUCKET_SIZE) % ANGLE_BUCKETS;
+        return bucket < 0 ? bucket + ANGLE_BUCKETS : bucket;
+    }
+
+    // rasterizes the enemy's body rotated to the bucket's angle, centered in the image
+    static BufferedImage render(Enemy enemy, int bucket, GraphicsConfiguration config) {
+        int half = (int) Math.ceil(enemy.getRadius() * EXTENT_RATIO) + PADDING;
+        int size = half * 2;
+        BufferedImage sprite = config != null
+                ? config.createCompatibleImage(size, size, Transparency.TRANSLUCENT)
+                : new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+
+        Graphics2D g2 = sprite.createGraphics();
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2.translate(half, half);
+        g2.rotate(bucket * BUCKET_SIZE + Math.PI / 2); // +pi/2 so "up" is default orientation
+        enemy.drawBody(g2);
+        g2.dispose();
+        return sprite;
+    }
+
+    // drops every cached sprite, e.g. after the display configuration changes
+    public static synchronized void clear() {
+        SPRITES.clear();
+    }
+}
@@ -0,0 +1,382 @@
+/*
+Name: EnemyStore.java
+Authors: Hamza Khan & Alec Li
+Date: January 16, 2026
+Description: Holds live enemies in one list per type so each type is updated in its own loop.
+*/
+
+package enemy;
+
+import entity.Character;
+import entity.BulletBuffer;
+import entity.BulletIndex;
+import entity.PlayerSnapshot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public class EnemyStore {
+
+    // enemies are updated in chunks of one type; every chunk collects its
+    // effects separately, so running chunks in parallel changes nothing
+    private static final int CHUNK_SIZE = 256;
+    private static final int PARALLEL_THRESHOLD = 2048; // smaller waves aren't worth forking for
+    private static final int TRIANGLES = 0;
+    private static final int CIRCLES = 1;
+    private static final int SQUARES = 2;
+    private static final int PENTAGONS = 3;
+    private static final int HEXAGONS = 4;
+    private static final int OCTAGONS = 5;
+    private static final int STARS = 6;
+
+    // one bucket per concrete type, in a fixed order
+    private final List<TriangleEnemy> triangles = new ArrayList<>();
+    private final List<CircleEnemy> circles = new ArrayList<>();
+    private final List<SquareEnemy> squares = new ArrayList<>();
+    private final List<PentagonEnemy> pentagons = new ArrayList<>();
+    private final List<HexagonEnemy> hexagons = new ArrayList<>();
+    private final List<OctagonEnemy> octagons = new ArrayList<>();
+    private final List<StarEnemy> stars = new ArrayList<>();
+
+    // every enemy in bucket order, for code that doesn't care about type
+    // (collisions, drawing, the hud); rebuilt lazily after the buckets change
+    private final List<Enemy> all = new ArrayList<>();
+    private boolean allStale = false;
+
+    private final EnemyPool enemyPool = new EnemyPool(); // where dead enemies wait to be reused
+
+    // the chunk plan of the current update, arrays only grow
+    private final ForkJoinPool pool;
+    private int[] chunkType = new int[16];
+    private int[] chunkStart = new int[16];
+    private int[] chunkEnd = new int[16];
+    private EnemyEffects[] chunkEffects = new EnemyEffects[16];
+    private int chunkCount;
+
+    // inputs of the update in progress, read by every chunk
+    private double stepDeltaSeconds;
+    private PlayerSnapshot stepPlayer;
+    private BulletIndex stepBulletIndex;
+    private int stepMapWidth;
+    private int stepMapHeight;
+
+    public EnemyStore() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    // a pool with parallelism 1 keeps every update on the calling thread
+    public EnemyStore(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    // sorts an enemy into its bucket; the only type check an enemy ever gets
+    public void add(Enemy enemy) {
+        if (enemy instanceof TriangleEnemy) {
+            triangles.add((TriangleEnemy) enemy);
+        } else if (enemy instanceof CircleEnemy) {
+            circles.add((CircleEnemy) enemy);
+        } else if (enemy instanceof SquareEnemy) {
+            squares.add((SquareEnemy) enemy);
+        } else if (enemy instanceof PentagonEnemy) {
+            pentagons.add((PentagonEnemy) enemy);
+        } else if (enemy instanceof HexagonEnemy) {
+            hexagons.add((HexagonEnemy) enemy);
+        } else if (enemy instanceof OctagonEnemy) {
+            octagons.add((OctagonEnemy) enemy);
+        } else if (enemy instanceof StarEnemy) {
+            stars.add((StarEnemy) enemy);
+        } else {
+            throw new IllegalArgumentException("no bucket for " + enemy.getClass().getName());
+        }
+        allStale = true;
+    }
+
+    public void addAll(List<? extends Enemy> enemies) {
+        for (int i = 0; i < enemies.size(); i++) {
+            add(enemies.get(i));
+        }
+    }
+
+    // returns every enemy to the pool and empties the store, for the end of a
+    // wave; use clear instead when the enemies are still referenced elsewhere
+    public void releaseAll() {
+        enemyPool.releaseAll(triangles);
+        enemyPool.releaseAll(circles);
+        enemyPool.releaseAll(squares);
+        enemyPool.releaseAll(pentagons);
+        enemyPool.releaseAll(hexagons);
+        enemyPool.releaseAll(octagons);
+        enemyPool.releaseAll(stars);
+        clear();
+    }
+
+    public EnemyPool getPool() {
+        return enemyPool;
+    }
+
+    public void clear() {
+        triangles.clear();
+        circles.clear();
+        squares.clear();
+        pentagons.clear();
+        hexagons.clear();
+        octagons.clear();
+        stars.clear();
+        allStale = true;
+    }
+
+    // moves every enemy, one loop per type; each update call site only ever
+    // sees one class, so the jit can inline it instead of dispatching through
+    // Enemy.update. stars also get their spawn check here, in their own loop
+    // big waves are split into chunks and run on the pool; call applyEffects
+    // afterwards to fire the bullets, spawns and damage the enemies produced
+    public void update(double deltaSeconds, PlayerSnapshot player, BulletIndex bulletIndex,
+            int mapWidth, int mapHeight) {
+        stepDeltaSeconds = deltaSeconds;
+        stepPlayer = player;
+        stepBulletIndex = bulletIndex;
+        stepMapWidth = mapWidth;
+        stepMapHeight = mapHeight;
+
+        planChunks();
+        if (pool.getParallelism() > 1 && size() >= PARALLEL_THRESHOLD) {
+            pool.invoke(new ChunkRange(0, chunkCount));
+        } else {
+            for (int chunk = 0; chunk < chunkCount; chunk++) {
+                updateChunk(chunk);
+            }
+        }
+        stepPlayer = null;
+        stepBulletIndex = null;
+    }
+
+    // applies what the last update produced, chunk by chunk in a fixed order,
+    // so the outcome never depends on how the chunks were scheduled
+    public void applyEffects(BulletBuffer bullets, Character player, List<Enemy> spawnedFromSpawners) {
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            chunkEffects[chunk].drainInto(bullets, enemyPool, spawnedFromSpawners, player);
+        }
+    }
+
+    // splits every bucket into runs of at most CHUNK_SIZE enemies
+    private void planChunks() {
+        chunkCount = 0;
+        addChunks(TRIANGLES, triangles.size());
+        addChunks(CIRCLES, circles.size());
+        addChunks(SQUARES, squares.size());
+        addChunks(PENTAGONS, pentagons.size());
+        addChunks(HEXAGONS, hexagons.size());
+        addChunks(OCTAGONS, octagons.size());
+        addChunks(STARS, stars.size());
+    }
+
+    private void addChunks(int type, int size) {
+        for (int start = 0; start < size; start += CHUNK_SIZE) {
+            if (chunkCount == chunkType.length) {
+                int capacity = chunkCount * 2;
+                chunkType = Arrays.copyOf(chunkType, capacity);
+                chunkStart = Arrays.copyOf(chunkStart, capacity);
+                chunkEnd = Arrays.copyOf(chunkEnd, capacity);
+                chunkEffects = Arrays.copyOf(chunkEffects, capacity);
+            }
+            if (chunkEffects[chunkCount] == null) {
+                chunkEffects[chunkCount] = new EnemyEffects();
+            }
+            chunkType[chunkCount] = type;
+            chunkStart[chunkCount] = start;
+            chunkEnd[chunkCount] = Math.min(size, start + CHUNK_SIZE);
+            chunkCount++;
+        }
+    }
+
+    // only touches the chunk's own enemies and effects buffer, so chunks can
+    // run on any thread in any order
+    private void updateChunk(int chunk) {
+        double deltaSeconds = stepDeltaSeconds;
+        PlayerSnapshot player = stepPlayer;
+        BulletIndex bulletIndex = stepBulletIndex;
+        int mapWidth = stepMapWidth;
+        int mapHeight = stepMapHeight;
+        EnemyEffects effects = chunkEffects[chunk];
+        int end = chunkEnd[chunk];
+
+        switch (chunkType[chunk]) {
+            case TRIANGLES:
+                for (int i = chunkStart[chunk]; i < end; i++) {
+                    triangles.get(i).update(deltaSeconds, player, effects, bulletIndex, mapWidth, mapHeight);
+                }
+                break;
+            case CIRCLES:
+                for (int i = chunkStart[chunk]; i < end; i++) {
+                    circles.get(i).update(deltaSeconds, player, effects, bulletIndex, mapWidth, mapHeight);
+                }
+                break;
+            case SQUARES:
+                for (int i = chunkStart[chunk]; i < end; i++) {
+                    squares.get(i).update(deltaSeconds, player, effects, bulletIndex, mapWidth, mapHeight);
+                }
+                break;
+            case PENTAGONS:
+                for (int i = chunkStart[chunk]; i < end; i++) {
+                    pentagons.get(i).update(deltaSeconds, player, effects, bulletIndex, mapWidth, mapHeight);
+                }
+                break;
+            case HEXAGONS:
+                for (int i = chunkStart[chunk]; i < end; i++) {
+                    hexagons.get(i).update(deltaSeconds, player, effects, bulletIndex, mapWidth, mapHeight);
+                }
+                break;
+            case OCTAGONS:
+                for (int i = chunkStart[chunk]; i < end; i++) {
+                    octagons.get(i).update(deltaSeconds, player, effects, bulletIndex, mapWidth, mapHeight);
+                }
+                break;
+            default:
+                for (int i = chunkStart[chunk]; i < end; i++) {
+                    StarEnemy star = stars.get(i);
+                    star.update(deltaSeconds, player, effects, bulletIndex, mapWidth, mapHeight);
+                    star.trySpawn(player, effects);
+                }
+                break;
+        }
+    }
+
+    // splits a range of chunks in half until each task runs a single chunk
+    private final class ChunkRange extends RecursiveAction {
+        private final int from;
+        private final int to;
+
+        ChunkRange(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                if (from < to) {
+                    updateChunk(from);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ChunkRange(from, mid), new ChunkRange(mid, to));
+        }
+    }
+
+    // drops killed enemies from every bucket into removed; hexagons are also
+    // reported in removedHexagons so only they are checked for splitting
+    public void removeKilled(List<Enemy> removed, List<HexagonEnemy> removedHexagons) {
+        removeKilled(triangles, removed, null);
+        removeKilled(circles, removed, null);
+        removeKilled(squares, removed, null);
+        removeKilled(pentagons, removed, null);
+        removeKilled(hexagons, removed, removedHexagons);
+        removeKilled(octagons, removed, null);
+        removeKilled(stars, removed, null);
+    }
+
+    // enemies touching the player hit them and leave the game, reported like
+    // removeKilled
+    public void removeTouching(Character player, List<Enemy> removed, List<HexagonEnemy> removedHexagons) {
+        removeTouching(triangles, player, removed, null);
+        removeTouching(circles, player, removed, null);
+        removeTouching(squares, player, removed, null);
+        removeTouching(pentagons, player, removed, null);
+        removeTouching(hexagons, player, removed, removedHexagons);
+        removeTouching(octagons, player, removed, null);
+        removeTouching(stars, player, removed, null);
+    }
+
+    // survivors are compacted in place instead of removed one by one
+    private <T extends Enemy> void removeKilled(List<T> bucket, List<Enemy> removed, List<T> removedOfType) {
+        int kept = 0;
+        for (int i = 0; i < bucket.size(); i++) {
+            T enemy = bucket.get(i);
+            if (enemy.isAlive()) {
+                bucket.set(kept++, enemy);
+                continue;
+            }
+            removed.add(enemy);
+            if (removedOfType != null)
+                removedOfType.add(enemy);
+        }
+        truncate(bucket, kept);
+    }
+
+    private <T extends Enemy> void removeTouching(List<T> bucket, Character player, List<Enemy> removed,
+            List<T> removedOfType) {
+        int kept = 0;
+        for (int i = 0; i < bucket.size(); i++) {
+            T enemy = bucket.get(i);
+            if (!enemy.collidesWith(player)) {
+                bucket.set(kept++, enemy);
+                continue;
+            }
+            enemy.onCollideWithPlayer(player);
+            removed.add(enemy);
+            if (removedOfType != null)
+                removedOfType.add(enemy);
+        }
+        truncate(bucket, kept);
+    }
+
+    private void truncate(List<?> bucket, int size) {
+        if (size < bucket.size()) {
+            bucket.subList(size, bucket.size()).clear();
+            allStale = true;
+        }
+    }
+
+    // the live enemies of the same type as the given one
+    public List<? extends Enemy> sameTypeAs(Enemy enemy) {
+        if (enemy instanceof TriangleEnemy)
+            return triangles;
+        if (enemy instanceof CircleEnemy)
+            return circles;
+        if (enemy instanceof SquareEnemy)
+            return squares;
+        if (enemy instanceof PentagonEnemy)
+            return pentagons;
+        if (enemy instanceof HexagonEnemy)
+            return hexagons;
+        if (enemy instanceof OctagonEnemy)
+            return octagons;
+        return stars;
+    }
+
+    // all enemies in bucket order; the list is reused, don't keep it across steps
+    public List<Enemy> all() {
+        if (allStale) {
+            all.clear();
+            append(triangles);
+            append(circles);
+            append(squares);
+            append(pentagons);
+            append(hexagons);
+            append(octagons);
+            append(stars);
+            allStale = false;
+        }
+        return all;
+    }
+
+    // indexed copy, addAll would allocate an array per bucket
+    private void append(List<? extends Enemy> bucket) {
+        for (int i = 0; i < bucket.size(); i++) {
+            all.add(bucket.get(i));
+        }
+    }
+
+    public int size() {
+        return triangles.size() + circles.size() + squares.size() + pentagons.size()
+                + hexagons.size() + octagons.size() + stars.size();
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+}
@@ -7,13 +7,12 @@ Description: Special enemy that splits into 6 triangles on death.
 
 package enemy;
 
-import entity.Character;
-import entity.Bullet;
+import entity.PlayerSnapshot;
+import entity.BulletIndex;
 
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.Polygon;
-import java.util.List;
 
 public class HexagonEnemy extends Enemy {
 
@@ -38,8 +37,9 @@ public class HexagonEnemy extends Enemy {
 
     @Override
     public void update(double deltaSeconds,
-            Character player,
-            List<Bullet> bullets,
+            PlayerSnapshot player,
+            EnemyEffects effects,
+            BulletIndex bulletIndex,
             int mapWidth,
             int mapHeight) {
         moveTowards(player.getX(), player.getY(), deltaSeconds, mapWidth, mapHeight);
@@ -7,13 +7,12 @@ Description: Tanky enemy with simple chasing behavior
 
 package enemy;
 
-import entity.Character;
-import entity.Bullet;
+import entity.PlayerSnapshot;
+import entity.BulletIndex;
 
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.Polygon;
-import java.util.List;
 
 public class OctagonEnemy extends Enemy {
 
@@ -37,8 +36,9 @@ public class OctagonEnemy extends Enemy {
 
     @Override
     public void update(double deltaSeconds,
-            Character player,
-            List<Bullet> bullets,
+            PlayerSnapshot player,
+            EnemyEffects effects,
+            BulletIndex bulletIndex,
             int mapWidth,
             int mapHeight) {
         moveTowards(player.getX(), player.getY(), deltaSeconds, mapWidth, mapHeight);
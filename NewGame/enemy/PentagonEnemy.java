@@ -7,14 +7,14 @@ Description: Pentagon-shaped ranged enemy that maintains distance and fires proj
 
 package enemy;
 
-import entity.Character;
-import entity.Bullet;
+import entity.PlayerSnapshot;
+import entity.BulletBuffer;
+import entity.BulletIndex;
 import util.Utils;
 
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.Polygon;
-import java.util.List;
 
 public class PentagonEnemy extends Enemy {
 
@@ -38,6 +38,17 @@ public class PentagonEnemy extends Enemy {
         super(x, y, radius, maxHealth, bodyDamage, movementSpeed);
     }
 
+    @Override
+    public void reset(double x,
+            double y,
+            double radius,
+            double maxHealth,
+            double bodyDamage,
+            double movementSpeed) {
+        super.reset(x, y, radius, maxHealth, bodyDamage, movementSpeed);
+        timeSinceLastShot = 0;
+    }
+
     @Override
     public int getScoreValue() {
         return SCORE_VALUE;
@@ -45,8 +56,9 @@ public class PentagonEnemy extends Enemy {
 
     @Override
     public void update(double deltaSeconds,
-            Character player,
-            List<Bullet> bullets,
+            PlayerSnapshot player,
+            EnemyEffects effects,
+            BulletIndex bulletIndex,
             int mapWidth,
             int mapHeight) {
 
@@ -62,18 +74,22 @@ public class PentagonEnemy extends Enemy {
         if (distance <= SHOOT_RANGE) {
             timeSinceLastShot += deltaSeconds;
             if (timeSinceLastShot >= FIRE_INTERVAL_SECONDS) {
-                shootAt(player, bullets);
+                shootAt(player, effects.getBullets());
                 timeSinceLastShot = 0; // reset cooldown
             }
         }
     }
 
     // fires a bullet toward the player
-    private void shootAt(Character player, List<Bullet> bullets) {
-        double[] direction = Utils.normalize(player.getX() - x, player.getY() - y);
-        double velocityX = direction[0] * BULLET_SPEED;
-        double velocityY = direction[1] * BULLET_SPEED;
-        bullets.add(new Bullet(x, y, velocityX, velocityY, BULLET_SPEED, BULLET_DAMAGE, false));
+    // normalized inline so firing allocates nothing
+    private void shootAt(PlayerSnapshot player, BulletBuffer bullets) {
+        double dx = player.getX() - x;
+        double dy = player.getY() - y;
+        double length = Math.sqrt(dx * dx + dy * dy);
+        double scale = length == 0 ? 0 : BULLET_SPEED / length; // zero vector stays zero, like Utils.normalize
+        double velocityX = dx * scale;
+        double velocityY = dy * scale;
+        bullets.add(x, y, velocityX, velocityY, BULLET_DAMAGE, false);
     }
 
     @Override
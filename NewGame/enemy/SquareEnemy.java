@@ -7,20 +7,18 @@ Description: Square enemy that dodges player bullets.
 
 package enemy;
 
-import entity.Character;
-import entity.Bullet;
-import util.Utils;
+import entity.PlayerSnapshot;
+import entity.BulletIndex;
 
 import java.awt.Color;
 import java.awt.Graphics2D;
-import java.util.List;
 
 public class SquareEnemy extends Enemy {
 
     private static final int SCORE_VALUE = 20;
     public static final Color DEFAULT_COLOR = new Color(255, 150, 80);
 
-    private final double dodgeRadius;
+    private double dodgeRadius;
 
     // constructor with dodge radius parameter for bullet avoidance
     public SquareEnemy(double x,
@@ -34,6 +32,18 @@ public class SquareEnemy extends Enemy {
         this.dodgeRadius = dodgeRadius;
     }
 
+    // re-initializes a pooled square, dodge radius included
+    public void reset(double x,
+            double y,
+            double halfSize,
+            double maxHealth,
+            double bodyDamage,
+            double movementSpeed,
+            double dodgeRadius) {
+        reset(x, y, halfSize, maxHealth, bodyDamage, movementSpeed);
+        this.dodgeRadius = dodgeRadius;
+    }
+
     @Override
     public int getScoreValue() {
         return SCORE_VALUE;
@@ -41,47 +51,33 @@ public class SquareEnemy extends Enemy {
 
     @Override
     public void update(double deltaSeconds,
-            Character player,
-            List<Bullet> bullets,
+            PlayerSnapshot player,
+            EnemyEffects effects,
+            BulletIndex bulletIndex,
             int mapWidth,
             int mapHeight) {
 
-        // check for nearby bullets to dodge
-        Bullet closestBullet = findClosestBulletInRange(bullets);
+        // check for nearby player bullets to dodge
+        int closestBullet = bulletIndex.findNearestPlayerBullet(x, y, dodgeRadius);
         faceTowards(player.getX(), player.getY()); // always face player
 
         // prioritize dodging over chasing
-        if (closestBullet != null) {
-            dodgeBullet(closestBullet, deltaSeconds, mapWidth, mapHeight);
+        if (closestBullet >= 0) {
+            dodgeBullet(bulletIndex.getBulletVx(closestBullet), bulletIndex.getBulletVy(closestBullet),
+                    deltaSeconds, mapWidth, mapHeight);
         } else {
             moveTowards(player.getX(), player.getY(), deltaSeconds, mapWidth, mapHeight);
         }
     }
 
-    // finds nearest player bullet within dodge range
-    private Bullet findClosestBulletInRange(List<Bullet> bullets) {
-        Bullet closest = null;
-        double closestDistSq = Double.MAX_VALUE;
-        double dodgeRadiusSq = dodgeRadius * dodgeRadius;
-
-        for (Bullet bullet : bullets) {
-            double distSq = Utils.distanceSquared(x, y, bullet.getX(), bullet.getY());
-            if (distSq <= dodgeRadiusSq && distSq < closestDistSq) {
-                closestDistSq = distSq;
-                closest = bullet;
-            }
-        }
-        return closest;
-    }
-
     // moves perpendicular to bullet trajectory using vector rotation
     // rotates bullet direction 90 degrees to get perpendicular dodge direction
-    private void dodgeBullet(Bullet bullet, double deltaSeconds, int mapWidth, int mapHeight) {
-        double[] normalized = Utils.normalize(bullet.getVx(), bullet.getVy());
-        if (normalized[0] != 0 || normalized[1] != 0) {
+    private void dodgeBullet(double bulletVx, double bulletVy, double deltaSeconds, int mapWidth, int mapHeight) {
+        // moveWithDirection normalizes, so the raw velocity is enough here
+        if (bulletVx != 0 || bulletVy != 0) {
             // rotate velocity 90 degrees: (x,y) -> (-y,x) gives perpendicular vector
-            double dodgeX = -normalized[1];
-            double dodgeY = normalized[0];
+            double dodgeX = -bulletVy;
+            double dodgeY = bulletVx;
             moveWithDirection(dodgeX, dodgeY, deltaSeconds, mapWidth, mapHeight);
         }
     }
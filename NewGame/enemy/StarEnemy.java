@@ -7,14 +7,13 @@ Description: Star enemy that spawns triangles and squares over time
 
 package enemy;
 
-import entity.Character;
-import entity.Bullet;
+import entity.PlayerSnapshot;
+import entity.BulletIndex;
 import util.Utils;
 
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.Polygon;
-import java.util.List;
 
 public class StarEnemy extends Enemy {
 
@@ -40,6 +39,18 @@ public class StarEnemy extends Enemy {
         super(x, y, radius, maxHealth, bodyDamage, movementSpeed);
     }
 
+    @Override
+    public void reset(double x,
+            double y,
+            double radius,
+            double maxHealth,
+            double bodyDamage,
+            double movementSpeed) {
+        super.reset(x, y, radius, maxHealth, bodyDamage, movementSpeed);
+        timeSinceLastSpawn = 0;
+        spawnCount = 0;
+    }
+
     @Override
     public int getScoreValue() {
         return SCORE_VALUE;
@@ -47,8 +58,9 @@ public class StarEnemy extends Enemy {
 
     @Override
     public void update(double deltaSeconds,
-            Character player,
-            List<Bullet> bullets,
+            PlayerSnapshot player,
+            EnemyEffects effects,
+            BulletIndex bulletIndex,
             int mapWidth,
             int mapHeight) {
         double distance = Utils.distance(x, y, player.getX(), player.getY());
@@ -64,7 +76,7 @@ public class StarEnemy extends Enemy {
 
     // spawns enemies if within range of player and spawn timer is ready
     // must be called externally from game loop (not in update)
-    public boolean trySpawn(Character player, List<Enemy> collector) {
+    public boolean trySpawn(PlayerSnapshot player, EnemyEffects effects) {
         double distance = Utils.distance(x, y, player.getX(), player.getY());
 
         if (distance > SPAWN_RANGE) {
@@ -73,7 +85,7 @@ public class StarEnemy extends Enemy {
 
         if (timeSinceLastSpawn >= SPAWN_INTERVAL_SECONDS) {
             timeSinceLastSpawn = 0;
-            spawnEnemy(collector);
+            spawnEnemy(effects);
             spawnCount++;
             return true;
         }
@@ -82,18 +94,24 @@ public class StarEnemy extends Enemy {
     }
 
     // spawns enemies in repeating pattern: triangle, triangle, square
-    // spawned enemies inherit yellow color for visual distinction
-    private void spawnEnemy(List<Enemy> collector) {
+    // the spawn is only recorded here, stars may be updated on several threads
+    // and the pool it comes from is not thread safe
+    private void spawnEnemy(EnemyEffects effects) {
         // pattern: triangle, triangle, square (repeats)
-        if (spawnCount % 3 == 2) {
-            SquareEnemy square = new SquareEnemy(x, y, 22, 60, 7.5, 320, 150);
-            square.customColor = SPAWN_COLOR; // mark as spawned
-            collector.add(square);
+        effects.spawnFromStar(x, y, spawnCount % 3 == 2);
+    }
+
+    // takes a spawned enemy from the pool when the effects are applied
+    // spawned enemies inherit yellow color for visual distinction
+    static Enemy createSpawn(EnemyPool pool, double x, double y, boolean square) {
+        Enemy spawned;
+        if (square) {
+            spawned = pool.acquireSquare(x, y, 22, 60, 7.5, 320, 150);
         } else {
-            TriangleEnemy triangle = new TriangleEnemy(x, y, 24, 50, 5, 260);
-            triangle.customColor = SPAWN_COLOR; // mark as spawned
-            collector.add(triangle);
+            spawned = pool.acquireTriangle(x, y, 24, 50, 5, 260);
         }
+        spawned.customColor = SPAWN_COLOR; // mark as spawned
+        return spawned;
     }
 
     @Override
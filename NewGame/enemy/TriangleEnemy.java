@@ -7,14 +7,13 @@ Description: Triangle enemy that chases player.
 
 package enemy;
 
-import entity.Character;
-import entity.Bullet;
+import entity.PlayerSnapshot;
+import entity.BulletIndex;
 import util.Utils;
 
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.Polygon;
-import java.util.List;
 
 public class TriangleEnemy extends Enemy {
 
@@ -37,6 +36,20 @@ public class TriangleEnemy extends Enemy {
         super(x, y, radius, maxHealth, bodyDamage, movementSpeed);
     }
 
+    @Override
+    public void reset(double x,
+            double y,
+            double radius,
+            double maxHealth,
+            double bodyDamage,
+            double movementSpeed) {
+        super.reset(x, y, radius, maxHealth, bodyDamage, movementSpeed);
+        explodeTimeRemaining = 0.0;
+        explodeDirX = 0.0;
+        explodeDirY = 0.0;
+        explodeSpeed = 0.0;
+    }
+
     @Override
     public int getScoreValue() {
         return SCORE_VALUE;
@@ -54,8 +67,9 @@ public class TriangleEnemy extends Enemy {
     // moves toward player unless in explosion phase
     @Override
     public void update(double deltaSeconds,
-            Character player,
-            List<Bullet> bullets,
+            PlayerSnapshot player,
+            EnemyEffects effects,
+            BulletIndex bulletIndex,
             int mapWidth,
             int mapHeight) {
         // if in explosion phase, move outward without chasing player
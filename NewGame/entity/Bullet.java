@@ -19,35 +19,36 @@ public class Bullet extends Entity {
     private static final Color PLAYER_BULLET_COLOR = new Color(100, 200, 255);
     private static final Color ENEMY_BULLET_COLOR = new Color(255, 80, 80);
 
-    private final double speed;
-    private final double damage;
-    private final double vx; // velocity x component
-    private final double vy; // velocity y component
-    private final boolean fromPlayer; // tracks bullet origin for collision detection
+    private static final BasicStroke STROKE = new BasicStroke(STROKE_WIDTH); // strokes are immutable, share one
+
+    private double damage;
+    private double vx; // velocity x component
+    private double vy; // velocity y component
+    private boolean fromPlayer; // tracks bullet origin for collision detection
+
+    // live bullets are stored in a BulletBuffer; a Bullet is a reusable view
+    // that BulletBuffer.load() points at one slot at a time
+    public Bullet() {
+        super(0, 0, BULLET_RADIUS, 1); // bullets have 1 hp (destroyed on first hit)
+    }
 
     // velocity (vx, vy) is pre-calculated on creation for performance
     // avoids repeated angle/speed calculations during movement
-    public Bullet(double x, double y, double vx, double vy, double speed, double damage, boolean fromPlayer) {
-        super(x, y, BULLET_RADIUS, 1); // bullets have 1 hp (destroyed on first hit)
+    public void set(double x, double y, double vx, double vy, double damage, boolean fromPlayer) {
+        this.x = x;
+        this.y = y;
         this.vx = vx;
         this.vy = vy;
-        this.speed = speed;
         this.damage = damage;
         this.fromPlayer = fromPlayer;
     }
 
-    // simple position update using pre-calculated velocity
-    public void update(double deltaSeconds) {
-        x += vx * deltaSeconds;
-        y += vy * deltaSeconds;
-    }
-
     // renders bullet as a line with motion trail for visual feedback
     // trail extends opposite to velocity direction
     @Override
     public void draw(Graphics2D g2) {
         g2.setColor(fromPlayer ? PLAYER_BULLET_COLOR : ENEMY_BULLET_COLOR);
-        g2.setStroke(new BasicStroke(STROKE_WIDTH));
+        g2.setStroke(STROKE);
 
         // calculate trail start position based on velocity direction
         int trailX = (int) (x - vx * TRAIL_LENGTH);
@@ -74,7 +75,7 @@ public class Bullet extends Entity {
     }
 
     public double getSpeed() {
-        return speed;
+        return Math.sqrt(vx * vx + vy * vy);
     }
 
     public double getDamage() {
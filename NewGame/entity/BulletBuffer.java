@@ -0,0 +1,111 @@
+/*
+Name: BulletBuffer.java
+Authors: Hamza Khan & Alec Li
+Date: January 16, 2026
+Description: Pooled struct-of-arrays storage for all live bullets, with swap-remove.
+*/
+
+package entity;
+
+import java.util.Arrays;
+
+public class BulletBuffer {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    // one slot per live bullet, always packed into [0, count)
+    private double[] x = new double[INITIAL_CAPACITY];
+    private double[] y = new double[INITIAL_CAPACITY];
+    private double[] vx = new double[INITIAL_CAPACITY];
+    private double[] vy = new double[INITIAL_CAPACITY];
+    private double[] damage = new double[INITIAL_CAPACITY];
+    private boolean[] fromPlayer = new boolean[INITIAL_CAPACITY]; // owner
+    private int count;
+
+    // adds a bullet and returns its slot; arrays only grow, so once they are big
+    // enough for the busiest moment firing allocates nothing
+    public int add(double x, double y, double vx, double vy, double damage, boolean fromPlayer) {
+        if (count == this.x.length) {
+            grow();
+        }
+        int slot = count++;
+        this.x[slot] = x;
+        this.y[slot] = y;
+        this.vx[slot] = vx;
+        this.vy[slot] = vy;
+        this.damage[slot] = damage;
+        this.fromPlayer[slot] = fromPlayer;
+        return slot;
+    }
+
+    // removes a bullet in O(1) by moving the last bullet into its slot
+    // iterate from the back when removing inside a loop
+    public void remove(int slot) {
+        int last = --count;
+        if (slot != last) {
+            x[slot] = x[last];
+            y[slot] = y[last];
+            vx[slot] = vx[last];
+            vy[slot] = vy[last];
+            damage[slot] = damage[last];
+            fromPlayer[slot] = fromPlayer[last];
+        }
+    }
+
+    public void clear() {
+        count = 0;
+    }
+
+    // moves every bullet along its velocity
+    public void update(double deltaSeconds) {
+        for (int i = 0; i < count; i++) {
+            x[i] += vx[i] * deltaSeconds;
+            y[i] += vy[i] * deltaSeconds;
+        }
+    }
+
+    // copies a slot into a reusable view so drawing and collision code can keep
+    // working with Bullet objects without allocating one per bullet
+    public Bullet load(int slot, Bullet view) {
+        view.set(x[slot], y[slot], vx[slot], vy[slot], damage[slot], fromPlayer[slot]);
+        return view;
+    }
+
+    private void grow() {
+        int capacity = x.length * 2;
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        vx = Arrays.copyOf(vx, capacity);
+        vy = Arrays.copyOf(vy, capacity);
+        damage = Arrays.copyOf(damage, capacity);
+        fromPlayer = Arrays.copyOf(fromPlayer, capacity);
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public double getX(int slot) {
+        return x[slot];
+    }
+
+    public double getY(int slot) {
+        return y[slot];
+    }
+
+    public double getVx(int slot) {
+        return vx[slot];
+    }
+
+    public double getVy(int slot) {
+        return vy[slot];
+    }
+
+    public double getDamage(int slot) {
+        return damage[slot];
+    }
+
+    public boolean isFromPlayer(int slot) {
+        return fromPlayer[slot];
+    }
+}
@@ -0,0 +1,93 @@
+/*
+Name: BulletIndex.java
+Authors: Hamza Khan & Alec Li
+Date: January 16, 2026
+Description: Per-tick spatial index of player bullets for nearest-bullet queries.
+*/
+
+package entity;
+
+import util.SpatialGrid;
+import util.Utils;
+
+import java.util.Arrays;
+
+public class BulletIndex {
+
+    private final SpatialGrid grid;
+    private BulletBuffer bullets; // buffer the index was last built from
+
+    // player bullets copied out of the buffer: grid entry i is buffer slot slots[i]
+    private int[] slots = new int[64];
+    private double[] xs = new double[64];
+    private double[] ys = new double[64];
+    private int count;
+
+    // cellSize should be about the largest query radius (square dodge radius)
+    // so a query only touches the 3x3 block of cells around it
+    public BulletIndex(int mapWidth, int mapHeight, double cellSize) {
+        this.grid = new SpatialGrid(mapWidth, mapHeight, cellSize);
+    }
+
+    // indexes the player bullets only, enemy bullets are never dodged
+    // slots stay valid until a bullet is removed from the buffer
+    public void build(BulletBuffer bullets) {
+        this.bullets = bullets;
+        int n = bullets.size();
+        if (slots.length < n) {
+            int capacity = Math.max(n, slots.length * 2);
+            slots = Arrays.copyOf(slots, capacity);
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+        }
+        count = 0;
+        for (int i = 0; i < n; i++) {
+            if (bullets.isFromPlayer(i)) {
+                slots[count] = i;
+                xs[count] = bullets.getX(i);
+                ys[count] = bullets.getY(i);
+                count++;
+            }
+        }
+        grid.build(xs, ys, count);
+    }
+
+    // returns the buffer slot of the closest player bullet within radius of the
+    // point, or -1
+    public int findNearestPlayerBullet(double x, double y, double radius) {
+        int minColumn = grid.columnOf(x - radius);
+        int maxColumn = grid.columnOf(x + radius);
+        int minRow = grid.rowOf(y - radius);
+        int maxRow = grid.rowOf(y + radius);
+
+        int closest = -1;
+        double closestDistSq = radius * radius;
+        for (int r = minRow; r <= maxRow; r++) {
+            for (int c = minColumn; c <= maxColumn; c++) {
+                int end = grid.cellEnd(c, r);
+                for (int k = grid.cellStart(c, r); k < end; k++) {
+                    int i = grid.entryAt(k);
+                    double distSq = Utils.distanceSquared(x, y, xs[i], ys[i]);
+                    if (distSq <= closestDistSq && (closest == -1 || distSq < closestDistSq)) {
+                        closestDistSq = distSq;
+                        closest = slots[i];
+                    }
+                }
+            }
+        }
+        return closest;
+    }
+
+    // velocity of a bullet returned by findNearestPlayerBullet
+    public double getBulletVx(int slot) {
+        return bullets.getVx(slot);
+    }
+
+    public double getBulletVy(int slot) {
+        return bullets.getVy(slot);
+    }
+
+    public int size() {
+        return count;
+    }
+}
@@ -0,0 +1,35 @@
+/*
+Name: PlayerSnapshot.java
+Authors: Hamza Khan & Alec Li
+Date: January 16, 2026
+Description: Read-only copy of the player's position and size taken before the enemy update.
+*/
+
+package entity;
+
+public final class PlayerSnapshot {
+
+    private final double x;
+    private final double y;
+    private final double radius;
+
+    // enemies may be updated on several threads at once, so they see this copy
+    // instead of the live player
+    public PlayerSnapshot(Character player) {
+        this.x = player.getX();
+        this.y = player.getY();
+        this.radius = player.getRadius();
+    }
+
+    public double getX() {
+        return x;
+    }
+
+    public double getY() {
+        return y;
+    }
+
+    public double getRadius() {
+        return radius;
+    }
+}
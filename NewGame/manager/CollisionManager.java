@@ -10,20 +10,45 @@ package manager;
 import entity.Bullet;
 import entity.Character;
 import enemy.Enemy;
+import util.SpatialGrid;
 import util.Utils;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 public class CollisionManager {
 
     private static final double COLLISION_PUSH_FACTOR = 0.5;
+    // must be at least the radius of the biggest enemy (star spawner is 32)
+    public static final double MAX_ENEMY_RADIUS = 32;
+    private static final int PARALLEL_THRESHOLD = 2048; // enemies before separation is split across threads
+    private static final int COLORS_PER_AXIS = 3; // a 3x3 neighbourhood spans three cells
+    private static final int COLORS = COLORS_PER_AXIS * COLORS_PER_AXIS;
+    private static final int CELLS_PER_TASK = 4;
 
     private final int mapWidth;
     private final int mapHeight;
+    // cells are one enemy diameter wide so overlapping enemies are always in
+    // the same or a neighbouring cell
+    private final SpatialGrid enemyGrid;
+    private List<Enemy> indexedEnemies; // list the grid was last built from
+    private final ForkJoinPool pool;
+    // occupied cells of each colour for the current resolve, arrays only grow
+    private final int[][] colorCells = new int[COLORS][64];
+    private final int[] colorCellCount = new int[COLORS];
 
     public CollisionManager(int mapWidth, int mapHeight) {
+        this(mapWidth, mapHeight, ForkJoinPool.commonPool());
+    }
+
+    // a pool with parallelism 1 keeps separation on the calling thread
+    public CollisionManager(int mapWidth, int mapHeight, ForkJoinPool pool) {
+        this.pool = pool;
         this.mapWidth = mapWidth;
         this.mapHeight = mapHeight;
+        this.enemyGrid = new SpatialGrid(mapWidth, mapHeight, 2 * MAX_ENEMY_RADIUS);
     }
 
     // checks circle-circle collision using squared distance for performance
@@ -34,6 +59,44 @@ public class CollisionManager {
         return distanceSq <= radiusSum * radiusSum;
     }
 
+    // builds the broadphase index over the current enemy positions
+    // must be rebuilt whenever enemies move before querying again
+    public void indexEnemies(List<Enemy> enemies) {
+        enemyGrid.build(enemies);
+        indexedEnemies = enemies;
+    }
+
+    // returns the living enemy a bullet hits, or null
+    // when several overlap, the one earliest in the enemy list wins, matching a
+    // plain scan over the list
+    public Enemy findEnemyHitBy(Bullet bullet) {
+        double x = bullet.getX();
+        double y = bullet.getY();
+        double reach = bullet.getRadius() + MAX_ENEMY_RADIUS;
+        int minColumn = enemyGrid.columnOf(x - reach);
+        int maxColumn = enemyGrid.columnOf(x + reach);
+        int minRow = enemyGrid.rowOf(y - reach);
+        int maxRow = enemyGrid.rowOf(y + reach);
+
+        int bestIndex = Integer.MAX_VALUE;
+        for (int r = minRow; r <= maxRow; r++) {
+            for (int c = minColumn; c <= maxColumn; c++) {
+                int end = enemyGrid.cellEnd(c, r);
+                for (int k = enemyGrid.cellStart(c, r); k < end; k++) {
+                    int index = enemyGrid.entryAt(k);
+                    if (index >= bestIndex) {
+                        continue;
+                    }
+                    Enemy enemy = indexedEnemies.get(index);
+                    if (enemy.isAlive() && bulletHitsEnemy(bullet, enemy)) {
+                        bestIndex = index;
+                    }
+                }
+            }
+        }
+        return bestIndex == Integer.MAX_VALUE ? null : indexedEnemies.get(bestIndex);
+    }
+
     public boolean bulletHitsPlayer(Bullet bullet, Character player) {
         double distanceSq = Utils.distanceSquared(bullet.getX(), bullet.getY(),
                 player.getX(), player.getY());
@@ -41,7 +104,117 @@ public class CollisionManager {
         return distanceSq <= radiusSum * radiusSum;
     }
 
+    // pushes all overlapping enemies apart using the spatial grid, each pair is
+    // resolved once, by the lower-index enemy of the pair
+    // near-linear: each enemy only checks the 3x3 block of cells around it
+    // cells are coloured by (column % 3, row % 3) and handled one colour at a
+    // time. two cells of the same colour are at least three apart, so their
+    // neighbourhoods never share an enemy: the order within a colour doesn't
+    // matter, and big waves resolve a colour's cells in parallel with the same
+    // result as on one thread
+    public void resolveEnemyCollisions(List<Enemy> enemies) {
+        indexEnemies(enemies);
+        collectOccupiedCells();
+        boolean parallel = pool.getParallelism() > 1 && enemies.size() >= PARALLEL_THRESHOLD;
+
+        for (int color = 0; color < COLORS; color++) {
+            if (parallel) {
+                pool.invoke(new CellRange(color, 0, colorCellCount[color]));
+            } else {
+                int[] cells = colorCells[color];
+                for (int k = 0; k < colorCellCount[color]; k++) {
+                    resolveCell(cells[k]);
+                }
+            }
+        }
+    }
+
+    // sorts the cells that hold at least one enemy by colour, so empty cells
+    // cost nothing
+    private void collectOccupiedCells() {
+        Arrays.fill(colorCellCount, 0);
+        int columns = enemyGrid.getColumns();
+        int lastCell = -1;
+        for (int p = 0; p < enemyGrid.size(); p++) {
+            int cell = enemyGrid.cellOfItem(enemyGrid.entryAt(p));
+            if (cell == lastCell) {
+                continue; // entries are grouped by cell
+            }
+            lastCell = cell;
+            int color = (cell / columns % COLORS_PER_AXIS) * COLORS_PER_AXIS + cell % columns % COLORS_PER_AXIS;
+            int count = colorCellCount[color];
+            if (count == colorCells[color].length) {
+                colorCells[color] = Arrays.copyOf(colorCells[color], count * 2);
+            }
+            colorCells[color][count] = cell;
+            colorCellCount[color] = count + 1;
+        }
+    }
+
+    // resolves every enemy indexed in a cell against its neighbourhood; only
+    // enemies indexed in the 3x3 block around the cell are touched
+    private void resolveCell(int cell) {
+        int columns = enemyGrid.getColumns();
+        int column = cell % columns;
+        int row = cell / columns;
+        int minColumn = Math.max(0, column - 1);
+        int maxColumn = Math.min(columns - 1, column + 1);
+        int minRow = Math.max(0, row - 1);
+        int maxRow = Math.min(enemyGrid.getRows() - 1, row + 1);
+
+        int cellEnd = enemyGrid.cellEnd(column, row);
+        for (int e = enemyGrid.cellStart(column, row); e < cellEnd; e++) {
+            int i = enemyGrid.entryAt(e);
+            Enemy current = indexedEnemies.get(i);
+            if (!current.isAlive()) {
+                continue;
+            }
+            for (int r = minRow; r <= maxRow; r++) {
+                for (int c = minColumn; c <= maxColumn; c++) {
+                    int end = enemyGrid.cellEnd(c, r);
+                    for (int k = enemyGrid.cellStart(c, r); k < end; k++) {
+                        int j = enemyGrid.entryAt(k);
+                        if (j <= i) {
+                            continue; // pair already handled from the other side
+                        }
+                        Enemy other = indexedEnemies.get(j);
+                        if (other.isAlive()) {
+                            resolveCollisionBetween(current, other);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    // splits the occupied cells of one colour until each task has a few cells
+    private final class CellRange extends RecursiveAction {
+        private final int color;
+        private final int from;
+        private final int to;
+
+        CellRange(int color, int from, int to) {
+            this.color = color;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= CELLS_PER_TASK) {
+                int[] cells = colorCells[color];
+                for (int k = from; k < to; k++) {
+                    resolveCell(cells[k]);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new CellRange(color, from, mid), new CellRange(color, mid, to));
+        }
+    }
+
     // pushes overlapping enemies apart to prevent stacking
+    // brute force O(n) per enemy, kept as the reference for the grid version
     public void resolveEnemyCollisions(Enemy currentEnemy, List<Enemy> enemies, int currentIndex) {
         for (int i = currentIndex + 1; i < enemies.size(); i++) {
             Enemy other = enemies.get(i);
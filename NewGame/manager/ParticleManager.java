@@ -8,43 +8,80 @@ Description: Manages particle effects for enemy deaths.
 package manager;
 
 import enemy.Enemy;
-import particle.DeathParticle;
+import particle.ParticleBuffer;
+import profiling.DeathBurstEvent;
 
 import java.awt.Color;
 import java.awt.Graphics2D;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Random;
 
 public class ParticleManager {
-    private final List<DeathParticle> particles = new ArrayList<>();
+
+    private static final int CAPACITY = 16384; // 90 particles per kill, ~180 overlapping deaths
+    private static final int PARENTS_PER_DEATH = 6;
+    private static final int MAX_DEPTH = 3;
+    private static final double CHILD_SPEED_RATIO = 0.6; // children move 60% as fast
+    private static final double ANGLE_SPREAD = 1.2; // randomization range for child angles
+    // every parent is the root of a full binary tree MAX_DEPTH levels deep
+    private static final int PARTICLES_PER_DEATH = PARENTS_PER_DEATH * ((1 << (MAX_DEPTH + 1)) - 1);
+
+    private final ParticleBuffer particles = new ParticleBuffer(CAPACITY);
+    private final int whiteIndex = particles.colorIndexOf(Color.WHITE);
+    private final Random random = new Random(); // seeded per game so replays match
+
+    public void setSeed(long seed) {
+        random.setSeed(seed);
+    }
 
     // generates recursive particle explosion on enemy death
     // spawns 6 parent particles, each spawning 2 children in true recursion
     public void spawnDeathEffect(Enemy e) {
-        Color c = e.getCustomColor() != null ? e.getCustomColor() : Color.WHITE;
-        for (int i = 0; i < 6; i++) {
+        DeathBurstEvent event = new DeathBurstEvent();
+        event.begin();
+        int color = e.getCustomColor() != null ? particles.colorIndexOf(e.getCustomColor()) : whiteIndex;
+        for (int i = 0; i < PARENTS_PER_DEATH; i++) {
             // randomize angle slightly for natural spread
-            double angle = i * Math.PI / 3 + Math.random() * 0.3;
+            double angle = i * Math.PI / 3 + random.nextDouble() * 0.3;
             // randomize speed to be 300-400
-            DeathParticle p = new DeathParticle(e.getX(), e.getY(), angle, 300 + Math.random() * 100, c, 0);
-            particles.add(p);
-            p.spawnChildren(particles, 3); // recursively spawns all child particles immediately
+            spawnParticle(e.getX(), e.getY(), angle, 300 + random.nextDouble() * 100, color, 0);
+        }
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.enemy = e.getClass().getSimpleName();
+            event.particlesSpawned = PARTICLES_PER_DEATH;
+            event.liveParticles = particles.size();
+            event.commit();
+        }
+    }
+
+    // adds one particle and recursively its children, which share its starting
+    // point and head off at a slightly randomized angle
+    private void spawnParticle(double x, double y, double angle, double speed, int color, int depth) {
+        particles.add(x, y, angle, speed, color);
+        if (depth >= MAX_DEPTH)
+            return; // base case: stop at max recursion depth
+
+        double childSpeed = speed * CHILD_SPEED_RATIO;
+        // spawn 2 children per particle, each with slightly randomized angle
+        for (int i = 0; i < 2; i++) {
+            spawnParticle(x, y, angle + (random.nextDouble() - 0.5) * ANGLE_SPREAD, childSpeed, color, depth + 1);
         }
     }
 
     public void update(double dt) { // dt is seconds per frame
-        particles.removeIf(p -> {
-            p.update(dt);
-            return p.isDead();
-        });
+        particles.update(dt);
     }
 
     public void draw(Graphics2D g2) {
-        for (DeathParticle p : particles)
-            p.draw(g2);
+        particles.draw(g2);
     }
 
     public void clear() {
         particles.clear();
     }
+
+    public int getParticleCount() {
+        return particles.size();
+    }
 }
@@ -0,0 +1,247 @@
+/*
+Name: WaveDefinitions.java
+Authors: Hamza Khan & Alec Li
+Date: January 16, 2026
+Description: Which enemies each wave spawns and when, read from a wave definition file.
+*/
+
+package manager;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+public class WaveDefinitions {
+
+    // enemy types in the order WaveManager spawns them, then mix for a random
+    // type per enemy
+    public static final int MIX = 7;
+    private static final String[] TYPE_NAMES = {
+            "triangle", "circle", "square", "pentagon", "hexagon", "octagon", "star", "mix"
+    };
+
+    // nothing spawns later than this into a wave
+    public static final long WAVE_DURATION_MS = 60_000;
+    private static final long DEFAULT_INTERVAL_MS = 2000;
+
+    private static final String RESOURCE_PATH = "/waves.txt";
+    private static final String FILE_PATH = "waves.txt";
+
+    // used when waves.txt can't be read, the same waves it ships with
+    private static final String DEFAULT_WAVES = String.join("\n",
+            "wave 1", "spawn triangle 6",
+            "wave 2", "spawn circle 10",
+            "wave 3", "spawn square 14",
+            "wave 4", "spawn pentagon 20",
+            "wave 5", "spawn hexagon 26",
+            "wave 6", "spawn octagon 32",
+            "wave 7", "spawn star 38",
+            "wave 8+", "spawn mix 44 +6/wave");
+
+    private final List<Wave> waves = new ArrayList<>();
+
+    private static final class Wave {
+        final int first;
+        final boolean openEnded; // this wave and every one after it
+        final List<SpawnRule> rules = new ArrayList<>();
+
+        Wave(int first, boolean openEnded) {
+            this.first = first;
+            this.openEnded = openEnded;
+        }
+    }
+
+    private static final class SpawnRule {
+        int type;
+        int count;
+        int countPerWave; // added for each wave past the first of an open ended range
+        long atMillis = -1; // -1 until set, then defaults to one interval in
+        long everyMillis = DEFAULT_INTERVAL_MS;
+        int burst = 1;
+    }
+
+    private WaveDefinitions() {
+    }
+
+    // reads -Dgame.waves if set, otherwise waves.txt from the classpath (works
+    // in a jar) or the working directory; falls back to the built in waves
+    public static WaveDefinitions load() {
+        String override = System.getProperty("game.waves");
+        try {
+            if (override != null) {
+                try (BufferedReader reader = Files.newBufferedReader(Paths.get(override), StandardCharsets.UTF_8)) {
+                    return parse(override, reader);
+                }
+            }
+            InputStream stream = WaveDefinitions.class.getResourceAsStream(RESOURCE_PATH);
+            if (stream != null) {
+                try (BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+                    return parse(FILE_PATH, reader);
+                }
+            }
+            if (Files.exists(Paths.get(FILE_PATH))) {
+                try (BufferedReader reader = Files.newBufferedReader(Paths.get(FILE_PATH), StandardCharsets.UTF_8)) {
+                    return parse(FILE_PATH, reader);
+                }
+            }
+            System.err.println("Warning: Could not find " + FILE_PATH + ", using the built in waves");
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Warning: Could not load wave definitions: " + e.getMessage());
+            System.err.println("Using the built in waves instead.");
+        }
+        return defaults();
+    }
+
+    public static WaveDefinitions defaults() {
+        try {
+            return parse("built in waves", new BufferedReader(new StringReader(DEFAULT_WAVES)));
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // a string reader never throws
+        }
+    }
+
+    // name is only used in error messages
+    public static WaveDefinitions parse(String name, BufferedReader reader) throws IOException {
+        WaveDefinitions definitions = new WaveDefinitions();
+        Wave current = null;
+        boolean hasOpenEnded = false;
+        int lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            int comment = line.indexOf('#');
+            if (comment >= 0)
+                line = line.substring(0, comment);
+            String[] tokens = line.trim().split("\\s+");
+            if (tokens[0].isEmpty())
+                continue;
+
+            String where = name + " line " + lineNumber + ": ";
+            if (tokens[0].equals("wave")) {
+                current = parseWave(tokens, where);
+                if (definitions.find(current.first, current.openEnded) != null)
+                    throw new IllegalArgumentException(where + "wave " + tokens[1] + " is defined twice");
+                definitions.waves.add(current);
+                hasOpenEnded |= current.openEnded;
+            } else if (tokens[0].equals("spawn")) {
+                if (current == null)
+                    throw new IllegalArgumentException(where + "spawn before any wave line");
+                current.rules.add(parseSpawn(tokens, where));
+            } else {
+                throw new IllegalArgumentException(where + "expected wave or spawn, found " + tokens[0]);
+            }
+        }
+        if (!hasOpenEnded)
+            throw new IllegalArgumentException(name + " needs a 'wave N+' entry so the waves never run out");
+        return definitions;
+    }
+
+    // wave <n> or wave <n>+
+    private static Wave parseWave(String[] tokens, String where) {
+        if (tokens.length != 2)
+            throw new IllegalArgumentException(where + "expected wave <number> or wave <number>+");
+        boolean openEnded = tokens[1].endsWith("+");
+        String number = openEnded ? tokens[1].substring(0, tokens[1].length() - 1) : tokens[1];
+        int first = parseInt(number, 1, where);
+        return new Wave(first, openEnded);
+    }
+
+    // spawn <type> <count> [+<n>/wave] [at <ms>] [every <ms>] [burst <n>]
+    private static SpawnRule parseSpawn(String[] tokens, String where) {
+        if (tokens.length < 3)
+            throw new IllegalArgumentException(where + "expected spawn <type> <count>");
+        SpawnRule rule = new SpawnRule();
+        rule.type = -1;
+        for (int type = 0; type < TYPE_NAMES.length; type++) {
+            if (TYPE_NAMES[type].equals(tokens[1]))
+                rule.type = type;
+        }
+        if (rule.type < 0)
+            throw new IllegalArgumentException(where + "unknown enemy type " + tokens[1]);
+        rule.count = parseInt(tokens[2], 0, where);
+
+        for (int i = 3; i < tokens.length; i++) {
+            String token = tokens[i];
+            if (token.startsWith("+") && token.endsWith("/wave")) {
+                rule.countPerWave = parseInt(token.substring(1, token.length() - "/wave".length()), 0, where);
+                continue;
+            }
+            if (i + 1 == tokens.length)
+                throw new IllegalArgumentException(where + "missing value after " + token);
+            String value = tokens[++i];
+            if (token.equals("at")) {
+                rule.atMillis = parseInt(value, 0, where);
+            } else if (token.equals("every")) {
+                rule.everyMillis = parseInt(value, 0, where);
+            } else if (token.equals("burst")) {
+                rule.burst = parseInt(value, 1, where);
+            } else {
+                throw new IllegalArgumentException(where + "unknown spawn option " + token);
+            }
+        }
+        if (rule.atMillis < 0)
+            rule.atMillis = rule.everyMillis;
+        return rule;
+    }
+
+    private static int parseInt(String text, int min, String where) {
+        int value;
+        try {
+            value = Integer.parseInt(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(where + "expected a number, found " + text);
+        }
+        if (value < min)
+            throw new IllegalArgumentException(where + text + " is below the minimum of " + min);
+        return value;
+    }
+
+    // fills the timeline with every spawn of the given wave, in time order;
+    // spawns that would land after WAVE_DURATION_MS are dropped
+    public void compile(int wave, WaveTimeline timeline) {
+        timeline.clear();
+        Wave definition = find(wave, false);
+        if (definition == null)
+            definition = findOpenEnded(wave);
+        if (definition == null)
+            return;
+
+        for (SpawnRule rule : definition.rules) {
+            int count = rule.count + rule.countPerWave * (wave - definition.first);
+            long at = rule.atMillis;
+            while (count > 0 && at <= WAVE_DURATION_MS) {
+                int burst = Math.min(rule.burst, count);
+                timeline.add(at, rule.type, burst);
+                count -= burst;
+                at += rule.everyMillis;
+            }
+        }
+        timeline.sort();
+    }
+
+    private Wave find(int first, boolean openEnded) {
+        for (Wave wave : waves) {
+            if (wave.first == first && wave.openEnded == openEnded)
+                return wave;
+        }
+        return null;
+    }
+
+    // the open ended range that starts closest below the wave
+    private Wave findOpenEnded(int wave) {
+        Wave best = null;
+        for (Wave candidate : waves) {
+            if (candidate.openEnded && candidate.first <= wave && (best == null || candidate.first > best.first))
+                best = candidate;
+        }
+        return best;
+    }
+}
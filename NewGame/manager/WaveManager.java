@@ -7,25 +7,18 @@ Description: Controls enemy wave spawning.
 
 package manager;
 
-import enemy.Enemy;
-import enemy.TriangleEnemy;
-import enemy.CircleEnemy;
-import enemy.SquareEnemy;
-import enemy.PentagonEnemy;
-import enemy.HexagonEnemy;
-import enemy.OctagonEnemy;
-import enemy.StarEnemy;
-import entity.Bullet;
-
-import java.util.List;
+import enemy.EnemyStore;
+import entity.BulletBuffer;
+import profiling.WaveEvent;
+import util.GameClock;
+
 import java.util.Random;
 
 public class WaveManager {
 
-    private static final long WAVE_DURATION_MS = 60_000;
-    private static final long SPAWN_INTERVAL_MS = 2000;
     private static final int CORNER_REGION_SIZE = 400;
     private static final int NUM_CORNERS = 4;
+    private static final int ENEMY_TYPES = 7;
 
     // round zero constants
     private static final int ROUND_ZERO_ENEMIES_PER_CORNER = 4;
@@ -70,199 +63,223 @@ public class WaveManager {
 
     private final int mapWidth;
     private final int mapHeight;
+    private final GameClock clock;
     private final Random random = new Random();
+    private final WaveDefinitions definitions;
+    private final WaveTimeline timeline = new WaveTimeline(); // spawns of the current wave
 
     private int waveNumber = 0;
     private long waveStartTime;
-    private long lastSpawnTime;
-    private int enemiesToSpawnThisWave;
-    private int enemiesSpawnedThisWave;
+    private long lastSpawnTime; // stress mode only
     private int nextCornerIndex = 0;
+    private double spawnX; // the last position picked, fields so picking one doesn't allocate
+    private double spawnY;
+    private WaveEvent waveEvent; // the wave in progress, for the flight recorder
+
+    // stress mode, off while the spawn rate is 0
+    private int stressSpawnsPerSecond;
+    private int stressCap;
+    private String stressStatusText;
 
-    public WaveManager(int mapWidth, int mapHeight) {
+    public WaveManager(int mapWidth, int mapHeight, GameClock clock) {
         this.mapWidth = mapWidth;
         this.mapHeight = mapHeight;
+        this.clock = clock;
+        this.definitions = WaveDefinitions.load();
+    }
+
+    // reseeds spawn positions and wave mixes, a replay passes the recorded seed
+    public void setSeed(long seed) {
+        random.setSeed(seed);
     }
 
-    public void setupRoundZero(List<Enemy> enemies, List<Bullet> bullets) {
+    public void setupRoundZero(EnemyStore enemies, BulletBuffer bullets) {
         waveNumber = 0;
-        waveStartTime = System.currentTimeMillis();
+        waveStartTime = clock.millis();
         lastSpawnTime = waveStartTime;
 
-        enemies.clear();
+        enemies.releaseAll();
         bullets.clear();
 
-        enemiesSpawnedThisWave = 0;
-        enemiesToSpawnThisWave = 0;
+        timeline.clear();
         nextCornerIndex = 0;
+        stressSpawnsPerSecond = 0;
 
         spawnRoundZeroEnemies(enemies);
     }
 
-    private void spawnRoundZeroEnemies(List<Enemy> enemies) {
+    private void spawnRoundZeroEnemies(EnemyStore enemies) {
         double padding = 30;
         // spawn 4 enemies in each map corner arranged in a cross pattern
         for (int corner = 0; corner < NUM_CORNERS; corner++) {
-            double[] cornerPos = positionInCorner(corner, padding);
+            positionInCorner(corner, padding);
             for (int i = 0; i < ROUND_ZERO_ENEMIES_PER_CORNER; i++) {
                 double angle = Math.toRadians(i * 90);
                 double offsetX = Math.cos(angle) * ROUND_ZERO_CLUSTER_RADIUS;
                 double offsetY = Math.sin(angle) * ROUND_ZERO_CLUSTER_RADIUS;
-                double spawnX = cornerPos[0] + offsetX;
-                double spawnY = cornerPos[1] + offsetY;
-                enemies.add(new OctagonEnemy(spawnX, spawnY, OCTAGON_RADIUS,
+                enemies.add(enemies.getPool().acquireOctagon(spawnX + offsetX, spawnY + offsetY, OCTAGON_RADIUS,
                         OCTAGON_HEALTH, OCTAGON_DAMAGE, OCTAGON_SPEED));
             }
         }
     }
 
-    // initializes a new wave with calculated enemy count
-    public void startNewWave(int newWaveNumber, List<Enemy> enemies, List<Bullet> bullets) {
+    // starts a new wave, compiling all of its spawns into the timeline up front
+    public void startNewWave(int newWaveNumber, EnemyStore enemies, BulletBuffer bullets) {
+        endWave("abandoned"); // only still open if a new game cut the wave short
         waveNumber = newWaveNumber;
-        waveStartTime = System.currentTimeMillis();
+        waveStartTime = clock.millis();
         lastSpawnTime = waveStartTime;
 
-        enemies.clear();
+        enemies.releaseAll();
         bullets.clear();
 
-        enemiesSpawnedThisWave = 0;
-        enemiesToSpawnThisWave = calculateEnemiesForWave(waveNumber);
+        definitions.compile(waveNumber, timeline);
         nextCornerIndex = 0;
+        stressSpawnsPerSecond = 0;
+
+        waveEvent = new WaveEvent();
+        waveEvent.begin();
     }
 
-    private int calculateEnemiesForWave(int wave) {
-        int base = 6 + (wave - 1) * 4;
-        if (wave > 3) {
-            base += (wave - 3) * 2;
+    // closes the wave's flight recorder event with how the wave ended
+    public void endWave(String result) {
+        if (waveEvent == null)
+            return;
+        waveEvent.end();
+        if (waveEvent.shouldCommit()) {
+            waveEvent.wave = waveNumber;
+            waveEvent.enemiesToSpawn = timeline.getTotal();
+            waveEvent.result = result;
+            waveEvent.commit();
         }
-        return base;
+        waveEvent = null;
     }
 
-    public void updateSpawning(List<Enemy> enemies) {
-        long now = System.currentTimeMillis();
-        long elapsed = now - waveStartTime;
+    // stress mode: one endless wave that keeps spawning a mix of every type,
+    // spawnsPerSecond of them in bursts spread over all four corners, for as
+    // long as fewer than cap enemies are alive
+    public void startStressWave(int spawnsPerSecond, int cap, EnemyStore enemies, BulletBuffer bullets) {
+        startNewWave(1, enemies, bullets);
+        timeline.clear(); // stress spawns follow the rate, not the wave file
+        stressSpawnsPerSecond = Math.max(1, spawnsPerSecond);
+        stressCap = cap;
+        stressStatusText = "Stress test: " + stressSpawnsPerSecond + "/s up to " + cap;
+    }
+
+    public boolean isStressMode() {
+        return stressSpawnsPerSecond > 0;
+    }
 
-        // check if wave time expired, spawn quota reached, or not enough time passed
-        // since last spawn
-        if (elapsed > WAVE_DURATION_MS) {
+    // pops every spawn that has come due; a step with nothing due costs one
+    // comparison, however many enemies the wave has left
+    public void updateSpawning(EnemyStore enemies) {
+        long now = clock.millis();
+        if (isStressMode()) {
+            updateStressSpawning(enemies, now);
             return;
         }
-        if (enemiesSpawnedThisWave >= enemiesToSpawnThisWave) {
-            return;
+        long elapsed = now - waveStartTime;
+        while (timeline.isDue(elapsed)) {
+            int type = timeline.getType();
+            int count = timeline.getCount();
+            timeline.pop();
+            for (int i = 0; i < count; i++) {
+                spawnEnemyOfType(type == WaveDefinitions.MIX ? random.nextInt(ENEMY_TYPES) : type, enemies);
+            }
         }
-        if (now - lastSpawnTime < SPAWN_INTERVAL_MS) {
+    }
+
+    // spawns everything that came due since the last burst; whatever the cap
+    // holds back is dropped rather than saved up, so kills don't cause a flood
+    private void updateStressSpawning(EnemyStore enemies, long now) {
+        long due = (now - lastSpawnTime) * stressSpawnsPerSecond / 1000;
+        if (due <= 0)
             return;
-        }
+        lastSpawnTime += due * 1000 / stressSpawnsPerSecond;
 
-        lastSpawnTime = now;
-        spawnEnemyForCurrentWave(enemies);
+        long burst = Math.min(due, stressCap - enemies.size());
+        for (long i = 0; i < burst; i++) {
+            spawnEnemyOfType(random.nextInt(ENEMY_TYPES), enemies);
+        }
     }
 
-    private void spawnEnemyForCurrentWave(List<Enemy> enemies) {
-        // waves 1-7: introduce enemy types progressively
-        // wave 8+: spawn random mix of all types
-
-        if (waveNumber == 1) {
-            spawnTriangleEnemy(enemies);
-        } else if (waveNumber == 2) {
-            spawnCircleEnemy(enemies);
-        } else if (waveNumber == 3) {
-            spawnSquareEnemy(enemies);
-        } else if (waveNumber == 4) {
-            spawnPentagonEnemy(enemies);
-        } else if (waveNumber == 5) {
-            spawnHexagonEnemy(enemies);
-        } else if (waveNumber == 6) {
-            spawnOctagonEnemy(enemies);
-        } else if (waveNumber == 7) {
-            spawnStarEnemy(enemies);
-        } else {
-            // wave 8+: random mix of all enemy types
-            int enemyType = random.nextInt(7);
-            switch (enemyType) {
-                case 0:
-                    spawnTriangleEnemy(enemies);
-                    break;
-                case 1:
-                    spawnCircleEnemy(enemies);
-                    break;
-                case 2:
-                    spawnSquareEnemy(enemies);
-                    break;
-                case 3:
-                    spawnPentagonEnemy(enemies);
-                    break;
-                case 4:
-                    spawnHexagonEnemy(enemies);
-                    break;
-                case 5:
-                    spawnOctagonEnemy(enemies);
-                    break;
-                case 6:
-                    spawnStarEnemy(enemies);
-                    break;
-            }
+    // types are numbered as in WaveDefinitions
+    private void spawnEnemyOfType(int enemyType, EnemyStore enemies) {
+        switch (enemyType) {
+            case 0:
+                spawnTriangleEnemy(enemies);
+                break;
+            case 1:
+                spawnCircleEnemy(enemies);
+                break;
+            case 2:
+                spawnSquareEnemy(enemies);
+                break;
+            case 3:
+                spawnPentagonEnemy(enemies);
+                break;
+            case 4:
+                spawnHexagonEnemy(enemies);
+                break;
+            case 5:
+                spawnOctagonEnemy(enemies);
+                break;
+            default:
+                spawnStarEnemy(enemies);
+                break;
         }
     }
 
-    private void spawnTriangleEnemy(List<Enemy> enemies) {
-        double[] position = getNextSpawnPosition(TRIANGLE_RADIUS);
-        enemies.add(new TriangleEnemy(position[0], position[1], TRIANGLE_RADIUS,
+    private void spawnTriangleEnemy(EnemyStore enemies) {
+        nextSpawnPosition(TRIANGLE_RADIUS);
+        enemies.add(enemies.getPool().acquireTriangle(spawnX, spawnY, TRIANGLE_RADIUS,
                 TRIANGLE_HEALTH, TRIANGLE_DAMAGE, TRIANGLE_SPEED));
-        enemiesSpawnedThisWave++;
     }
 
-    private void spawnCircleEnemy(List<Enemy> enemies) {
-        double[] position = getNextSpawnPosition(CIRCLE_RADIUS);
-        enemies.add(new CircleEnemy(position[0], position[1], CIRCLE_RADIUS,
+    private void spawnCircleEnemy(EnemyStore enemies) {
+        nextSpawnPosition(CIRCLE_RADIUS);
+        enemies.add(enemies.getPool().acquireCircle(spawnX, spawnY, CIRCLE_RADIUS,
                 CIRCLE_HEALTH, CIRCLE_DAMAGE, CIRCLE_SPEED, CIRCLE_FORCE_FIELD_RADIUS));
-        enemiesSpawnedThisWave++;
     }
 
-    private void spawnSquareEnemy(List<Enemy> enemies) {
-        double[] position = getNextSpawnPosition(SQUARE_HALF_SIZE);
-        enemies.add(new SquareEnemy(position[0], position[1], SQUARE_HALF_SIZE,
+    private void spawnSquareEnemy(EnemyStore enemies) {
+        nextSpawnPosition(SQUARE_HALF_SIZE);
+        enemies.add(enemies.getPool().acquireSquare(spawnX, spawnY, SQUARE_HALF_SIZE,
                 SQUARE_HEALTH, SQUARE_DAMAGE, SQUARE_SPEED, SQUARE_DODGE_RADIUS));
-        enemiesSpawnedThisWave++;
     }
 
-    private void spawnPentagonEnemy(List<Enemy> enemies) {
-        double[] position = getNextSpawnPosition(SHOOTER_RADIUS);
-        enemies.add(new PentagonEnemy(position[0], position[1], SHOOTER_RADIUS,
+    private void spawnPentagonEnemy(EnemyStore enemies) {
+        nextSpawnPosition(SHOOTER_RADIUS);
+        enemies.add(enemies.getPool().acquirePentagon(spawnX, spawnY, SHOOTER_RADIUS,
                 SHOOTER_HEALTH, SHOOTER_DAMAGE, SHOOTER_SPEED));
-        enemiesSpawnedThisWave++;
     }
 
-    private void spawnHexagonEnemy(List<Enemy> enemies) {
-        double[] position = getNextSpawnPosition(HEXAGON_RADIUS);
-        enemies.add(new HexagonEnemy(position[0], position[1], HEXAGON_RADIUS,
+    private void spawnHexagonEnemy(EnemyStore enemies) {
+        nextSpawnPosition(HEXAGON_RADIUS);
+        enemies.add(enemies.getPool().acquireHexagon(spawnX, spawnY, HEXAGON_RADIUS,
                 HEXAGON_HEALTH, HEXAGON_DAMAGE, HEXAGON_SPEED));
-        enemiesSpawnedThisWave++;
     }
 
-    private void spawnOctagonEnemy(List<Enemy> enemies) {
-        double[] position = getNextSpawnPosition(OCTAGON_RADIUS);
-        enemies.add(new OctagonEnemy(position[0], position[1], OCTAGON_RADIUS,
+    private void spawnOctagonEnemy(EnemyStore enemies) {
+        nextSpawnPosition(OCTAGON_RADIUS);
+        enemies.add(enemies.getPool().acquireOctagon(spawnX, spawnY, OCTAGON_RADIUS,
                 OCTAGON_HEALTH, OCTAGON_DAMAGE, OCTAGON_SPEED));
-        enemiesSpawnedThisWave++;
     }
 
-    private void spawnStarEnemy(List<Enemy> enemies) {
-        double[] position = getNextSpawnPosition(SPAWNER_RADIUS);
-        enemies.add(new StarEnemy(position[0], position[1], SPAWNER_RADIUS,
+    private void spawnStarEnemy(EnemyStore enemies) {
+        nextSpawnPosition(SPAWNER_RADIUS);
+        enemies.add(enemies.getPool().acquireStar(spawnX, spawnY, SPAWNER_RADIUS,
                 SPAWNER_HEALTH, SPAWNER_DAMAGE, SPAWNER_SPEED));
-        enemiesSpawnedThisWave++;
     }
 
-    private double[] getNextSpawnPosition(double padding) {
+    private void nextSpawnPosition(double padding) {
         int corner = nextCornerIndex;
         nextCornerIndex = (nextCornerIndex + 1) % NUM_CORNERS;
-        return positionInCorner(corner, padding);
+        positionInCorner(corner, padding);
     }
 
-    private double[] positionInCorner(int corner, double padding) {
-        double spawnX;
-        double spawnY;
+    // picks a random point in a corner and leaves it in spawnX and spawnY
+    private void positionInCorner(int corner, double padding) {
         // calculate usable region size accounting for padding on all sides
         double regionSize = CORNER_REGION_SIZE - 2 * padding;
 
@@ -287,24 +304,22 @@ public class WaveManager {
                 spawnX = mapWidth / 2.0;
                 spawnY = mapHeight / 2.0;
         }
-
-        return new double[] { spawnX, spawnY };
     }
 
     public boolean isSpawningComplete() {
-        long elapsed = System.currentTimeMillis() - waveStartTime;
-        return elapsed > WAVE_DURATION_MS || enemiesSpawnedThisWave >= enemiesToSpawnThisWave;
+        if (isStressMode())
+            return false; // the stress wave never ends
+        return timeline.isFinished();
     }
 
     public int getEnemiesRemaining(int aliveCount) {
-        int remainingToSpawn = Math.max(0, enemiesToSpawnThisWave - enemiesSpawnedThisWave);
-        return aliveCount + remainingToSpawn;
+        return aliveCount + timeline.getRemaining();
     }
 
     public String getWaveStatusText() {
-        long elapsed = System.currentTimeMillis() - waveStartTime;
-        boolean isSpawningPhase = elapsed <= WAVE_DURATION_MS && enemiesSpawnedThisWave < enemiesToSpawnThisWave;
-        return isSpawningPhase ? "Spawning" : "Kill enemies to go to next wave";
+        if (isStressMode())
+            return stressStatusText;
+        return timeline.isFinished() ? "Kill enemies to go to next wave" : "Spawning";
     }
 
     public int getWaveNumber() {
@@ -0,0 +1,105 @@
+/*
+Name: WaveTimeline.java
+Authors: Hamza Khan & Alec Li
+Date: January 16, 2026
+Description: One wave's spawns compiled into a time-sorted queue, popped as they come due.
+*/
+
+package manager;
+
+import java.util.Arrays;
+
+public class WaveTimeline {
+
+    // sort keys pack the time above the insertion index, so equal times keep
+    // their insertion order
+    private static final int INDEX_BITS = 24;
+
+    private long[] times = new long[64]; // ms after the wave starts
+    private int[] types = new int[64];
+    private int[] counts = new int[64]; // enemies per event, more than 1 for a burst
+    private int size;
+    private int next; // first event not yet popped
+    private int total;
+    private int remaining;
+
+    public void clear() {
+        size = 0;
+        next = 0;
+        total = 0;
+        remaining = 0;
+    }
+
+    public void add(long atMillis, int type, int count) {
+        if (size == times.length) {
+            times = Arrays.copyOf(times, size * 2);
+            types = Arrays.copyOf(types, size * 2);
+            counts = Arrays.copyOf(counts, size * 2);
+        }
+        times[size] = atMillis;
+        types[size] = type;
+        counts[size] = count;
+        size++;
+        total += count;
+        remaining += count;
+    }
+
+    // orders everything added since the last clear by time; called once when
+    // the wave is compiled, so popping never has to search
+    public void sort() {
+        if (size > 1 << INDEX_BITS)
+            throw new IllegalStateException("too many spawn events in one wave: " + size);
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = times[i] << INDEX_BITS | i;
+        }
+        Arrays.sort(keys);
+
+        long[] sortedTimes = new long[times.length];
+        int[] sortedTypes = new int[types.length];
+        int[] sortedCounts = new int[counts.length];
+        for (int i = 0; i < size; i++) {
+            int from = (int) (keys[i] & ((1 << INDEX_BITS) - 1));
+            sortedTimes[i] = times[from];
+            sortedTypes[i] = types[from];
+            sortedCounts[i] = counts[from];
+        }
+        times = sortedTimes;
+        types = sortedTypes;
+        counts = sortedCounts;
+    }
+
+    // true while the next event's time has been reached; a step checks this
+    // once when nothing is due, however long the wave is
+    public boolean isDue(long elapsedMillis) {
+        return next < size && times[next] <= elapsedMillis;
+    }
+
+    // type of the next event
+    public int getType() {
+        return types[next];
+    }
+
+    // enemies in the next event
+    public int getCount() {
+        return counts[next];
+    }
+
+    public void pop() {
+        remaining -= counts[next];
+        next++;
+    }
+
+    public boolean isFinished() {
+        return next == size;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    // enemies in events not popped yet
+    public int getRemaining() {
+        return remaining;
+    }
+}
@@ -0,0 +1,131 @@
+/*
+Name: ParticleBuffer.java
+Authors: Hamza Khan & Alec Li
+Date: January 16, 2026
+Description: Fixed-capacity ring buffer of death particles stored in primitive arrays.
+*/
+
+package particle;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ParticleBuffer {
+
+    public static final double LIFESPAN = 0.25; // seconds per particle
+    private static final double TRAIL_LENGTH = 0.02; // trail extends backward by velocity * this
+    private static final int ALPHA_LEVELS = 256;
+    private static final BasicStroke STROKE = new BasicStroke(2); // shared by every particle
+
+    // every particle lives exactly LIFESPAN, so they die in the order they were
+    // added and the live ones are always the contiguous run starting at head
+    private final int capacity;
+    private final double[] x;
+    private final double[] y;
+    private final double[] vx;
+    private final double[] vy;
+    private final double[] life;
+    private final int[] colorIndex; // index into alphaRamps
+    private int head; // oldest live particle
+    private int count;
+
+    // one precomputed color per alpha level for every base color seen so far
+    // there are only a handful of base colors (white plus spawner colors)
+    private final List<Color[]> alphaRamps = new ArrayList<>();
+
+    public ParticleBuffer(int capacity) {
+        this.capacity = capacity;
+        this.x = new double[capacity];
+        this.y = new double[capacity];
+        this.vx = new double[capacity];
+        this.vy = new double[capacity];
+        this.life = new double[capacity];
+        this.colorIndex = new int[capacity];
+    }
+
+    // adds a particle moving at the given angle and speed; when full the oldest
+    // particle is overwritten, it is the closest to fading out anyway
+    public void add(double x, double y, double angle, double speed, int colorIndex) {
+        int slot;
+        if (count == capacity) {
+            slot = head;
+            head = (head + 1) % capacity;
+        } else {
+            slot = (head + count) % capacity;
+            count++;
+        }
+        this.x[slot] = x;
+        this.y[slot] = y;
+        // convert polar coordinates (angle, speed) to cartesian velocity
+        this.vx[slot] = Math.cos(angle) * speed;
+        this.vy[slot] = Math.sin(angle) * speed;
+        this.life[slot] = LIFESPAN;
+        this.colorIndex[slot] = colorIndex;
+    }
+
+    // returns the alpha ramp index for a base color, building the ramp the
+    // first time the color is seen
+    public int colorIndexOf(Color color) {
+        int rgb = color.getRGB() & 0xFFFFFF;
+        for (int i = 0; i < alphaRamps.size(); i++) {
+            if ((alphaRamps.get(i)[0].getRGB() & 0xFFFFFF) == rgb) {
+                return i;
+            }
+        }
+        Color[] ramp = new Color[ALPHA_LEVELS];
+        for (int a = 0; a < ALPHA_LEVELS; a++) {
+            ramp[a] = new Color(color.getRed(), color.getGreen(), color.getBlue(), a);
+        }
+        alphaRamps.add(ramp);
+        return alphaRamps.size() - 1;
+    }
+
+    public void update(double dt) {
+        for (int n = 0, i = head; n < count; n++, i = next(i)) {
+            x[i] += vx[i] * dt;
+            y[i] += vy[i] * dt;
+            life[i] -= dt;
+        }
+        // dead particles are always at the front
+        while (count > 0 && life[head] <= 0) {
+            head = next(head);
+            count--;
+        }
+    }
+
+    // renders each particle as a short line segment showing motion trail
+    public void draw(Graphics2D g2) {
+        if (count == 0) {
+            return;
+        }
+        g2.setStroke(STROKE);
+        for (int n = 0, i = head; n < count; n++, i = next(i)) {
+            // fade out as life decreases
+            int a = (int) (Math.max(0, life[i] / LIFESPAN) * 255);
+            g2.setColor(alphaRamps.get(colorIndex[i])[a]);
+            // line extends backward along velocity direction for motion blur effect
+            g2.drawLine((int) (x[i] - vx[i] * TRAIL_LENGTH), (int) (y[i] - vy[i] * TRAIL_LENGTH),
+                    (int) x[i], (int) y[i]);
+        }
+    }
+
+    private int next(int i) {
+        return i + 1 == capacity ? 0 : i + 1;
+    }
+
+    public void clear() {
+        head = 0;
+        count = 0;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,32 @@
+/*
+Name: BeamEvent.java
+Authors: Hamza Khan & Alec Li
+Date: January 16, 2026
+Description: Flight recorder event spanning one beam ability, from activation until the beam finishes.
+*/
+
+package profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("duelboss.Beam")
+@Label("Beam")
+@Category({ "DuelBoss", "Gameplay" })
+@Enabled(false)
+@StackTrace(false)
+public class BeamEvent extends Event {
+
+    @Label("Targets")
+    public int targets;
+
+    @Label("Greedy Path Length")
+    public double greedyPathLength;
+
+    @Label("Refined Path Length")
+    public double refinedPathLength; // zero if the solver's path was never swapped in
+}
@@ -0,0 +1,32 @@
+/*
+Name: DeathBurstEvent.java
+Authors: Hamza Khan & Alec Li
+Date: January 16, 2026
+Description: Flight recorder event for one death effect spawned by ParticleManager.
+*/
+
+package profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("duelboss.DeathBurst")
+@Label("Death Burst")
+@Category({ "DuelBoss", "Rendering" })
+@Enabled(false)
+@StackTrace(false)
+public class DeathBurstEvent extends Event {
+
+    @Label("Enemy")
+    public String enemy;
+
+    @Label("Particles Spawned")
+    public int particlesSpawned;
+
+    @Label("Live Particles")
+    public int liveParticles;
+}
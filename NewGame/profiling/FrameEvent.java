@@ -0,0 +1,51 @@
+/*
+Name: FrameEvent.java
+Authors: Hamza Khan & Alec Li
+Date: January 16, 2026
+Description: Flight recorder event for one painted frame, with the time spent in each phase.
+*/
+
+package profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import util.FrameProfiler;
+
+@Name("duelboss.Frame")
+@Label("Frame")
+@Category({ "DuelBoss", "Rendering" })
+@Description("One painted frame and the time each of its phases took")
+@Enabled(false)
+@StackTrace(false)
+public class FrameEvent extends Event {
+
+    @Label("Background")
+    @Timespan(Timespan.NANOSECONDS)
+    public long background;
+
+    @Label("Entities")
+    @Timespan(Timespan.NANOSECONDS)
+    public long entities;
+
+    @Label("Effects")
+    @Description("Particles and the beam")
+    @Timespan(Timespan.NANOSECONDS)
+    public long effects;
+
+    @Label("HUD")
+    @Timespan(Timespan.NANOSECONDS)
+    public long hud;
+
+    public void setPhases(FrameProfiler profiler) {
+        background = profiler.getLastNanos(FrameProfiler.BACKGROUND);
+        entities = profiler.getLastNanos(FrameProfiler.ENTITIES);
+        effects = profiler.getLastNanos(FrameProfiler.EFFECTS);
+        hud = profiler.getLastNanos(FrameProfiler.HUD);
+    }
+}
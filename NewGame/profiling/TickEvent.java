@@ -0,0 +1,89 @@
+/*
+Name: TickEvent.java
+Authors: Hamza Khan & Alec Li
+Date: January 16, 2026
+Description: Flight recorder event for one simulation step, with the time spent in each phase.
+*/
+
+package profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import util.FrameProfiler;
+
+// off unless a recording turns it on, see duelboss.jfc
+@Name("duelboss.Tick")
+@Label("Tick")
+@Category({ "DuelBoss", "Simulation" })
+@Description("One World.step and the time each of its phases took")
+@Enabled(false)
+@StackTrace(false)
+public class TickEvent extends Event {
+
+    @Label("Wave")
+    public int wave;
+
+    @Label("Enemies")
+    public int enemies;
+
+    @Label("Bullets")
+    public int bullets;
+
+    @Label("Beam")
+    @Timespan(Timespan.NANOSECONDS)
+    public long beam;
+
+    @Label("Player")
+    @Timespan(Timespan.NANOSECONDS)
+    public long player;
+
+    @Label("Shooting")
+    @Timespan(Timespan.NANOSECONDS)
+    public long shooting;
+
+    @Label("Bullets Phase")
+    @Timespan(Timespan.NANOSECONDS)
+    public long bulletsPhase;
+
+    @Label("Enemies Phase")
+    @Description("Enemy ai, deaths and collisions")
+    @Timespan(Timespan.NANOSECONDS)
+    public long enemiesPhase;
+
+    @Label("Collisions")
+    @Description("Enemy separation, part of the enemies phase")
+    @Timespan(Timespan.NANOSECONDS)
+    public long collisions;
+
+    @Label("Spawning")
+    @Timespan(Timespan.NANOSECONDS)
+    public long spawning;
+
+    @Label("Waves")
+    @Timespan(Timespan.NANOSECONDS)
+    public long waves;
+
+    @Label("Particles")
+    @Timespan(Timespan.NANOSECONDS)
+    public long particles;
+
+    // copies the phase times of the step that just ran; phases the step skipped
+    // read as zero
+    public void setPhases(FrameProfiler profiler) {
+        beam = profiler.getLastNanos(FrameProfiler.BEAM);
+        player = profiler.getLastNanos(FrameProfiler.PLAYER);
+        shooting = profiler.getLastNanos(FrameProfiler.SHOOTING);
+        bulletsPhase = profiler.getLastNanos(FrameProfiler.BULLETS);
+        enemiesPhase = profiler.getLastNanos(FrameProfiler.ENEMIES);
+        collisions = profiler.getLastNanos(FrameProfiler.COLLISIONS);
+        spawning = profiler.getLastNanos(FrameProfiler.SPAWNING);
+        waves = profiler.getLastNanos(FrameProfiler.WAVES);
+        particles = profiler.getLastNanos(FrameProfiler.PARTICLES);
+    }
+}
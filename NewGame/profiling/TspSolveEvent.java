@@ -0,0 +1,32 @@
+/*
+Name: TspSolveEvent.java
+Authors: Hamza Khan & Alec Li
+Date: January 16, 2026
+Description: Flight recorder event for one TSPSolver run, with the point count and the algorithm used.
+*/
+
+package profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("duelboss.TspSolve")
+@Label("TSP Solve")
+@Category({ "DuelBoss", "Gameplay" })
+@Enabled(false)
+@StackTrace(false)
+public class TspSolveEvent extends Event {
+
+    @Label("Points")
+    public int points;
+
+    @Label("Algorithm")
+    public String algorithm;
+
+    @Label("Tour Length")
+    public double tourLength;
+}
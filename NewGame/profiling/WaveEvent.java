@@ -0,0 +1,32 @@
+/*
+Name: WaveEvent.java
+Authors: Hamza Khan & Alec Li
+Date: January 16, 2026
+Description: Flight recorder event spanning one wave, from WaveManager.startNewWave until it is cleared or lost.
+*/
+
+package profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("duelboss.Wave")
+@Label("Wave")
+@Category({ "DuelBoss", "Gameplay" })
+@Enabled(false)
+@StackTrace(false)
+public class WaveEvent extends Event {
+
+    @Label("Wave")
+    public int wave;
+
+    @Label("Enemies To Spawn")
+    public int enemiesToSpawn;
+
+    @Label("Result")
+    public String result; // cleared, game over or abandoned
+}
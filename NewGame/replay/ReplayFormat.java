@@ -0,0 +1,83 @@
+/*
+Name: ReplayFormat.java
+Authors: Hamza Khan & Alec Li
+Date: January 16, 2026
+Description: Layout of replay files and the varint helpers shared by the recorder and the runner.
+*/
+
+package replay;
+
+import java.nio.ByteBuffer;
+
+// a replay is a header followed by one record per step or event:
+//
+// header: magic "DBRP", version byte, 8-byte seed, ticks per second byte
+//
+// frame (top bit clear): one flags byte, then the aim as zigzag varint deltas
+// from the previous frame's aim, then the beam target as zigzag varint offsets
+// from the aim when bit 4 is set; with bit 6 set the coordinates are raw
+// doubles instead, for aims that aren't whole pixels
+//
+// event (top bit set): the low bits give the type, followed by its payload
+final class ReplayFormat {
+
+    static final int MAGIC = 0x44425250; // "DBRP"
+    static final int VERSION = 2; // 2: spawns follow the wave timeline
+
+    // frame flag bits
+    static final int UP = 1;
+    static final int DOWN = 1 << 1;
+    static final int LEFT = 1 << 2;
+    static final int RIGHT = 1 << 3;
+    static final int BEAM_REQUESTED = 1 << 4;
+    static final int BEAM_PATH_READY = 1 << 5;
+    static final int RAW_COORDINATES = 1 << 6;
+    static final int EVENT = 1 << 7;
+
+    // event types
+    static final int REPEAT = 1; // varint count: steps with the previous frame again
+    static final int PURCHASE = 2; // varint shop button index
+    static final int RESUME = 3; // left the shop
+    static final int CHECKSUM = 4; // 8-byte World.stateHash after the last step
+    static final int END = 5; // 8-byte World.stateHash, nothing follows
+
+    static final int CHECKSUM_INTERVAL = 600; // ticks, ten seconds at 60 tps
+
+    private ReplayFormat() {
+    }
+
+    // zigzag keeps small negative deltas small: 0, -1, 1, -2 -> 0, 1, 2, 3
+    static void putSignedVarint(ByteBuffer buffer, long value) {
+        putVarint(buffer, (value << 1) ^ (value >> 63));
+    }
+
+    static long getSignedVarint(ByteBuffer buffer) {
+        long value = getVarint(buffer);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    // seven bits per byte, low bits first, top bit set while more bytes follow
+    static void putVarint(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    static long getVarint(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0)
+                return value;
+        }
+        throw new IllegalStateException("malformed varint");
+    }
+
+    // whole numbers that survive a round trip through a long; -0.0 doesn't
+    static boolean isWhole(double value) {
+        return value == (long) value && Double.doubleToRawLongBits(value) != Double.doubleToRawLongBits(-0.0);
+    }
+}
@@ -0,0 +1,217 @@
+/*
+Name: ReplayRecorder.java
+Authors: Hamza Khan & Alec Li
+Date: January 16, 2026
+Description: Writes the seed and every step's input to a compact replay file that ReplayRunner plays back.
+*/
+
+package replay;
+
+import core.InputFrame;
+import core.World;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+public class ReplayRecorder {
+
+    // run with -Dgame.recordReplay=<directory> to record every game played
+    private static final String RECORD_DIRECTORY = System.getProperty("game.recordReplay");
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_RECORD_SIZE = 64; // largest frame or event, with room to spare
+
+    private final Path path;
+    private FileChannel channel; // null once closed or after a write error
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    // previous frame, for delta and run-length encoding
+    private int lastFlags = -1;
+    private double lastAimX;
+    private double lastAimY;
+    private long pendingRepeats;
+    private long ticks;
+
+    // creates the file and writes the header; every call after this is safe
+    // even if the disk goes away, recording just stops
+    public ReplayRecorder(Path path, long seed, int ticksPerSecond) {
+        this.path = path;
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (IOException e) {
+            fail(e);
+            return;
+        }
+        buffer.putInt(ReplayFormat.MAGIC);
+        buffer.put((byte) ReplayFormat.VERSION);
+        buffer.putLong(seed);
+        buffer.put((byte) ticksPerSecond);
+    }
+
+    // starts a recording in the configured directory, or returns null when
+    // recording is off
+    public static ReplayRecorder startIfEnabled(long seed, int ticksPerSecond) {
+        if (RECORD_DIRECTORY == null)
+            return null;
+        Path file = Paths.get(RECORD_DIRECTORY, "replay-" + System.currentTimeMillis() + ".dbr");
+        return new ReplayRecorder(file, seed, ticksPerSecond);
+    }
+
+    // records the input for the step about to run, call right before World.step
+    public void recordFrame(InputFrame input) {
+        if (channel == null)
+            return;
+
+        int flags = 0;
+        if (input.isUp())
+            flags |= ReplayFormat.UP;
+        if (input.isDown())
+            flags |= ReplayFormat.DOWN;
+        if (input.isLeft())
+            flags |= ReplayFormat.LEFT;
+        if (input.isRight())
+            flags |= ReplayFormat.RIGHT;
+        if (input.isBeamRequested())
+            flags |= ReplayFormat.BEAM_REQUESTED;
+        if (input.isBeamPathReady())
+            flags |= ReplayFormat.BEAM_PATH_READY;
+
+        double aimX = input.getAimX();
+        double aimY = input.getAimY();
+        boolean hasActions = (flags & (ReplayFormat.BEAM_REQUESTED | ReplayFormat.BEAM_PATH_READY)) != 0;
+        // most steps hold the same keys and mouse as the last one
+        if (!hasActions && flags == lastFlags && Double.compare(aimX, lastAimX) == 0
+                && Double.compare(aimY, lastAimY) == 0) {
+            pendingRepeats++;
+            return;
+        }
+
+        boolean raw = !ReplayFormat.isWhole(aimX) || !ReplayFormat.isWhole(aimY)
+                || !ReplayFormat.isWhole(lastAimX) || !ReplayFormat.isWhole(lastAimY);
+        if (input.isBeamRequested())
+            raw |= !ReplayFormat.isWhole(input.getBeamTargetX()) || !ReplayFormat.isWhole(input.getBeamTargetY());
+
+        beginRecord();
+        buffer.put((byte) (flags | (raw ? ReplayFormat.RAW_COORDINATES : 0)));
+        if (raw) {
+            buffer.putDouble(aimX);
+            buffer.putDouble(aimY);
+        } else {
+            ReplayFormat.putSignedVarint(buffer, (long) aimX - (long) lastAimX);
+            ReplayFormat.putSignedVarint(buffer, (long) aimY - (long) lastAimY);
+        }
+        if (input.isBeamRequested()) {
+            if (raw) {
+                buffer.putDouble(input.getBeamTargetX());
+                buffer.putDouble(input.getBeamTargetY());
+            } else {
+                ReplayFormat.putSignedVarint(buffer, (long) input.getBeamTargetX() - (long) aimX);
+                ReplayFormat.putSignedVarint(buffer, (long) input.getBeamTargetY() - (long) aimY);
+            }
+        }
+
+        lastFlags = flags;
+        lastAimX = aimX;
+        lastAimY = aimY;
+    }
+
+    // call after World.step; drops a checksum into the file every few seconds
+    // so a replay that drifts is caught near where it went wrong
+    public void endTick(World world) {
+        if (channel == null)
+            return;
+        ticks++;
+        if (ticks % ReplayFormat.CHECKSUM_INTERVAL == 0) {
+            beginRecord();
+            buffer.put((byte) (ReplayFormat.EVENT | ReplayFormat.CHECKSUM));
+            buffer.putLong(world.stateHash());
+            flush();
+        }
+    }
+
+    public void recordPurchase(int buttonIndex) {
+        if (channel == null)
+            return;
+        beginRecord();
+        buffer.put((byte) (ReplayFormat.EVENT | ReplayFormat.PURCHASE));
+        ReplayFormat.putVarint(buffer, buttonIndex);
+    }
+
+    public void recordResume() {
+        if (channel == null)
+            return;
+        beginRecord();
+        buffer.put((byte) (ReplayFormat.EVENT | ReplayFormat.RESUME));
+    }
+
+    // writes the final state hash and closes the file
+    public void finish(World world) {
+        if (channel == null)
+            return;
+        beginRecord();
+        buffer.put((byte) (ReplayFormat.EVENT | ReplayFormat.END));
+        buffer.putLong(world.stateHash());
+        flush();
+        close();
+    }
+
+    public void close() {
+        if (channel == null)
+            return;
+        flush();
+        try {
+            if (channel != null)
+                channel.close();
+        } catch (IOException e) {
+            fail(e);
+        }
+        channel = null;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    // makes room for one record, writing out any run of repeated frames first
+    private void beginRecord() {
+        if (buffer.remaining() < MAX_RECORD_SIZE)
+            flush();
+        if (pendingRepeats > 0) {
+            buffer.put((byte) (ReplayFormat.EVENT | ReplayFormat.REPEAT));
+            ReplayFormat.putVarint(buffer, pendingRepeats);
+            pendingRepeats = 0;
+            if (buffer.remaining() < MAX_RECORD_SIZE)
+                flush();
+        }
+    }
+
+    private void flush() {
+        if (channel == null)
+            return;
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            fail(e);
+        }
+        buffer.clear();
+    }
+
+    // a broken recording shouldn't take the game down with it
+    private void fail(IOException e) {
+        System.err.println("replay recording stopped: " + e.getMessage());
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+            }
+        }
+        channel = null;
+    }
+}
@@ -0,0 +1,170 @@
+/*
+Name: ReplayRunner.java
+Authors: Hamza Khan & Alec Li
+Date: January 16, 2026
+Description: Plays a recorded replay back without a display as fast as possible and checks it ends in the same state.
+*/
+
+package replay;
+
+import core.InputFrame;
+import core.World;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+public class ReplayRunner {
+
+    private final World world;
+    private final InputFrame input = new InputFrame();
+    private final double deltaSeconds;
+    private final ByteBuffer replay;
+
+    private double aimX;
+    private double aimY;
+    private long ticks;
+    private int checksums;
+    private int mismatches;
+    private long firstMismatchTick = -1;
+    private boolean ended;
+
+    // usage: java -Djava.awt.headless=true replay.ReplayRunner <file.dbr>
+    // run it with the same waves.txt the replay was recorded with
+    public static void main(String[] args) throws IOException {
+        System.setProperty("java.awt.headless", "true");
+        if (args.length < 1) {
+            System.err.println("usage: replay.ReplayRunner <file.dbr>");
+            System.exit(2);
+        }
+
+        ReplayRunner runner = new ReplayRunner(read(Paths.get(args[0])));
+        long start = System.nanoTime();
+        runner.run();
+        long elapsedNanos = System.nanoTime() - start;
+
+        World world = runner.world;
+        System.out.printf("seed=%d ticks=%d wave=%d score=%d enemies=%d%n", world.getSeed(), runner.ticks,
+                world.getWaveManager().getWaveNumber(), world.getScoreManager().getScore(),
+                world.getEnemies().size());
+        System.out.printf("%.1f ms total, %.0f ticks/s%n", elapsedNanos / 1e6,
+                runner.ticks / (elapsedNanos / 1e9));
+        if (runner.mismatches == 0) {
+            System.out.printf("match: %d checksums agree%s%n", runner.checksums,
+                    runner.ended ? "" : " (recording has no end marker)");
+        } else {
+            System.out.printf("MISMATCH: %d of %d checksums differ, first after tick %d%n", runner.mismatches,
+                    runner.checksums, runner.firstMismatchTick);
+            System.exit(1);
+        }
+    }
+
+    // reads the header and starts a game with the recorded seed; the beam solver
+    // runs inline since the recording says when each path was swapped in
+    public ReplayRunner(ByteBuffer replay) {
+        this.replay = replay;
+        if (replay.getInt() != ReplayFormat.MAGIC)
+            throw new IllegalArgumentException("not a replay file");
+        int version = replay.get();
+        if (version != ReplayFormat.VERSION)
+            throw new IllegalArgumentException("unsupported replay version " + version);
+        long seed = replay.getLong();
+        deltaSeconds = 1.0 / (replay.get() & 0xFF);
+
+        world = new World(Runnable::run);
+        world.startNewGame(seed);
+    }
+
+    // steps through the whole recording; a file cut short by a crash plays up
+    // to where it stops
+    public void run() {
+        while (!ended && replay.hasRemaining()) {
+            int header = replay.get() & 0xFF;
+            if ((header & ReplayFormat.EVENT) == 0) {
+                readFrame(header);
+                step();
+                continue;
+            }
+            switch (header & ~ReplayFormat.EVENT) {
+                case ReplayFormat.REPEAT:
+                    for (long count = ReplayFormat.getVarint(replay); count > 0; count--) {
+                        step();
+                    }
+                    break;
+                case ReplayFormat.PURCHASE:
+                    world.handleShopPurchase((int) ReplayFormat.getVarint(replay));
+                    break;
+                case ReplayFormat.RESUME:
+                    world.resumeFromShop();
+                    break;
+                case ReplayFormat.CHECKSUM:
+                    check(replay.getLong());
+                    break;
+                case ReplayFormat.END:
+                    check(replay.getLong());
+                    ended = true;
+                    break;
+                default:
+                    throw new IllegalStateException("unknown replay event " + header + " after tick " + ticks);
+            }
+        }
+    }
+
+    public World getWorld() {
+        return world;
+    }
+
+    private void readFrame(int flags) {
+        boolean raw = (flags & ReplayFormat.RAW_COORDINATES) != 0;
+        if (raw) {
+            aimX = replay.getDouble();
+            aimY = replay.getDouble();
+        } else {
+            aimX += ReplayFormat.getSignedVarint(replay);
+            aimY += ReplayFormat.getSignedVarint(replay);
+        }
+        input.setMovement((flags & ReplayFormat.UP) != 0, (flags & ReplayFormat.DOWN) != 0,
+                (flags & ReplayFormat.LEFT) != 0, (flags & ReplayFormat.RIGHT) != 0);
+        input.setAim(aimX, aimY);
+        if ((flags & ReplayFormat.BEAM_REQUESTED) != 0) {
+            if (raw) {
+                input.requestBeam(replay.getDouble(), replay.getDouble());
+            } else {
+                double targetX = aimX + ReplayFormat.getSignedVarint(replay);
+                double targetY = aimY + ReplayFormat.getSignedVarint(replay);
+                input.requestBeam(targetX, targetY);
+            }
+        }
+        input.setBeamPathReady((flags & ReplayFormat.BEAM_PATH_READY) != 0);
+    }
+
+    private void step() {
+        world.step(deltaSeconds, input);
+        input.clearActions();
+        ticks++;
+    }
+
+    private void check(long expected) {
+        checksums++;
+        if (world.stateHash() != expected) {
+            mismatches++;
+            if (firstMismatchTick < 0)
+                firstMismatchTick = ticks;
+        }
+    }
+
+    private static ByteBuffer read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0)
+                    break;
+            }
+            buffer.flip();
+            return buffer;
+        }
+    }
+}
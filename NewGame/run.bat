@@ -1,4 +1,4 @@
-javac util\*.java entity\*.java particle\*.java enemy\*.java ability\*.java manager\*.java ui\*.java core\*.java
+javac util\*.java entity\*.java particle\*.java enemy\*.java ability\*.java manager\*.java profiling\*.java replay\*.java ui\*.java core\*.java
 pause
 java core.Game
 pause
\ No newline at end of file
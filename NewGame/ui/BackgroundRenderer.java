@@ -0,0 +1,134 @@
+/*
+Name: BackgroundRenderer.java
+Authors: Hamza Khan & Alec Li
+Date: January 16, 2026
+Description: Pre-renders the static starfield map background into tiles and draws only the visible ones.
+*/
+
+package ui;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+public class BackgroundRenderer {
+
+    private static final int TILE_SIZE = 256;
+
+    // starfield constants
+    private static final int SMALL_STAR_COUNT = 300;
+    private static final int LARGE_STAR_COUNT = 50;
+    private static final long SMALL_STAR_SEED = 12345;
+    private static final long LARGE_STAR_SEED = 54321;
+    private static final int NEBULA_SIZE = 400;
+    private static final int BORDER_WIDTH = 8;
+    private static final Color OUTSIDE_COLOR = Color.BLACK; // panel background beyond the map
+    private static final Color BACKGROUND_COLOR = new Color(10, 10, 30);
+    private static final Color STAR_COLOR_DIM = new Color(255, 255, 255, 200);
+    private static final Color STAR_COLOR_BRIGHT = new Color(255, 255, 255, 255);
+    private static final Color BORDER_COLOR = new Color(60, 60, 100);
+    private static final Color NEBULA_PURPLE = new Color(80, 60, 140, 40);
+    private static final Color NEBULA_BLUE = new Color(60, 80, 160, 40);
+    private static final Color NEBULA_MAGENTA = new Color(100, 60, 120, 40);
+    private static final Color NEBULA_INDIGO = new Color(70, 70, 150, 40);
+
+    private final int mapWidth;
+    private final int mapHeight;
+
+    // tiles cover the map plus the half of the border stroke that sits outside it
+    private final int originX;
+    private final int originY;
+    private final int columns;
+    private final int rows;
+    private final BufferedImage[] tiles; // rendered lazily the first time they are seen
+
+    public BackgroundRenderer(int mapWidth, int mapHeight) {
+        this.mapWidth = mapWidth;
+        this.mapHeight = mapHeight;
+        this.originX = -BORDER_WIDTH;
+        this.originY = -BORDER_WIDTH;
+        this.columns = (mapWidth + 2 * BORDER_WIDTH + TILE_SIZE - 1) / TILE_SIZE;
+        this.rows = (mapHeight + 2 * BORDER_WIDTH + TILE_SIZE - 1) / TILE_SIZE;
+        this.tiles = new BufferedImage[columns * rows];
+    }
+
+    // draws the tiles that intersect the viewport, g2 must already be in world space
+    public void draw(Graphics2D g2, int viewX, int viewY, int viewWidth, int viewHeight) {
+        int minColumn = Math.max(0, Math.floorDiv(viewX - originX, TILE_SIZE));
+        int maxColumn = Math.min(columns - 1, Math.floorDiv(viewX + viewWidth - originX, TILE_SIZE));
+        int minRow = Math.max(0, Math.floorDiv(viewY - originY, TILE_SIZE));
+        int maxRow = Math.min(rows - 1, Math.floorDiv(viewY + viewHeight - originY, TILE_SIZE));
+
+        for (int r = minRow; r <= maxRow; r++) {
+            for (int c = minColumn; c <= maxColumn; c++) {
+                BufferedImage tile = tiles[r * columns + c];
+                if (tile == null) {
+                    tile = renderTile(g2.getDeviceConfiguration(), c, r);
+                    tiles[r * columns + c] = tile;
+                }
+                g2.drawImage(tile, originX + c * TILE_SIZE, originY + r * TILE_SIZE, null);
+            }
+        }
+    }
+
+    // renders one tile by replaying the whole background clipped to the tile;
+    // compatible images get cached in video memory by java2d where possible
+    private BufferedImage renderTile(GraphicsConfiguration config, int column, int row) {
+        BufferedImage tile = config != null
+                ? config.createCompatibleImage(TILE_SIZE, TILE_SIZE, Transparency.OPAQUE)
+                : new BufferedImage(TILE_SIZE, TILE_SIZE, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = tile.createGraphics();
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2.setColor(OUTSIDE_COLOR);
+        g2.fillRect(0, 0, TILE_SIZE, TILE_SIZE);
+        g2.translate(-(originX + column * TILE_SIZE), -(originY + row * TILE_SIZE));
+        paintBackground(g2);
+        g2.dispose();
+        return tile;
+    }
+
+    // draws starfield background with nebula effects and border
+    private void paintBackground(Graphics2D g2) {
+        g2.setColor(BACKGROUND_COLOR);
+        g2.fillRect(0, 0, mapWidth, mapHeight);
+
+        // draw small stars (fixed seed so every tile sees the same sky)
+        Random smallStars = new Random(SMALL_STAR_SEED);
+        g2.setColor(STAR_COLOR_DIM);
+        for (int i = 0; i < SMALL_STAR_COUNT; i++) {
+            int starX = smallStars.nextInt(mapWidth);
+            int starY = smallStars.nextInt(mapHeight);
+            int size = smallStars.nextInt(3) + 1;
+            g2.fillOval(starX, starY, size, size);
+        }
+
+        // draw larger, brighter stars
+        Random largeStars = new Random(LARGE_STAR_SEED);
+        g2.setColor(STAR_COLOR_BRIGHT);
+        for (int i = 0; i < LARGE_STAR_COUNT; i++) {
+            int starX = largeStars.nextInt(mapWidth);
+            int starY = largeStars.nextInt(mapHeight);
+            g2.fillOval(starX, starY, 2, 2);
+        }
+
+        // corner nebula effects
+        g2.setColor(NEBULA_PURPLE);
+        g2.fillRect(0, 0, NEBULA_SIZE, NEBULA_SIZE);
+        g2.setColor(NEBULA_BLUE);
+        g2.fillRect(mapWidth - NEBULA_SIZE, 0, NEBULA_SIZE, NEBULA_SIZE);
+        g2.setColor(NEBULA_MAGENTA);
+        g2.fillRect(0, mapHeight - NEBULA_SIZE, NEBULA_SIZE, NEBULA_SIZE);
+        g2.setColor(NEBULA_INDIGO);
+        g2.fillRect(mapWidth - NEBULA_SIZE, mapHeight - NEBULA_SIZE, NEBULA_SIZE, NEBULA_SIZE);
+
+        // border
+        g2.setStroke(new BasicStroke(BORDER_WIDTH));
+        g2.setColor(BORDER_COLOR);
+        g2.drawRect(0, 0, mapWidth, mapHeight);
+    }
+}
@@ -87,6 +87,16 @@ public class ButtonManager {
         shopButtonRects.clear();
     }
 
+    // gets the rectangle of a registered menu button
+    public Rectangle getMenuButton(int index) {
+        return menuButtonRects.get(index);
+    }
+
+    // gets the rectangle of a registered shop button
+    public Rectangle getShopButton(int index) {
+        return shopButtonRects.get(index);
+    }
+
     // gets the index of the hovered menu button, or -1 if none
     public int getHoveredMenuButtonIndex() {
         return hoveredMenuButtonIndex;
@@ -10,6 +10,7 @@ package ui;
 import javax.swing.JPanel;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
 import java.awt.RenderingHints;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
@@ -18,6 +19,7 @@ import java.awt.event.MouseMotionAdapter;
 public class GameOverPanel extends JPanel {
 
   private final MenuRenderer menuRenderer;
+  private final RepaintCoalescer repaintCoalescer;
   private int score;
   private int waveNumber;
   private int highScore;
@@ -31,12 +33,16 @@ public class GameOverPanel extends JPanel {
 
   public GameOverPanel(int screenWidth, int screenHeight) {
     this.menuRenderer = new MenuRenderer(screenWidth, screenHeight);
+    this.repaintCoalescer = new RepaintCoalescer(this);
 
     addMouseMotionListener(new MouseMotionAdapter() {
       @Override
       public void mouseMoved(MouseEvent e) {
-        menuRenderer.updateHover(e.getX(), e.getY(), true, false);
-        repaint();
+        // only the buttons whose hover state changed need repainting
+        Rectangle damage = menuRenderer.updateHover(e.getX(), e.getY(), true, false);
+        if (damage != null) {
+          repaintCoalescer.repaint(damage);
+        }
       }
     });
 
@@ -8,11 +8,18 @@ Description: Renders in-game UI overlay
 package ui;
 
 import entity.Character;
+import util.FrameProfiler;
+import util.TickScalingLog;
+import util.TimingHistogram;
 
+import java.awt.AlphaComposite;
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.FontMetrics;
 import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
 
 public class HUDRenderer {
 
@@ -43,11 +50,59 @@ public class HUDRenderer {
     // beam cooldown constants
     private static final long ULTIMATE_COOLDOWN_MS = 10_000; // 10 seconds
 
+    // timing overlay constants
+    private static final int TIMING_X = 20;
+    private static final int TIMING_BOTTOM_MARGIN = 20;
+    private static final int TIMING_LINE_HEIGHT = 15;
+    private static final long TIMING_REFRESH_NANOS = 250_000_000L; // redraw the numbers 4 times a second
+    private static final String TIMING_HEADER = String.format("%-14s%8s%8s%8s%8s", "phase (us)", "p50", "p95", "p99",
+            "max");
+
+    // stress readout constants
+    private static final int STRESS_WIDTH = 370;
+    private static final int STRESS_HEIGHT = 210;
+    private static final int STRESS_TOP = 60;
+    private static final int STRESS_RIGHT_MARGIN = 20;
+    private static final int CHART_LEFT = 30; // room for the zero label
+    private static final int CHART_WIDTH = 320;
+    private static final int CHART_HEIGHT = 110;
+    private static final double FRAME_BUDGET_MS = 1000.0 / 60;
+    private static final Color CHART_LINE_COLOR = new Color(255, 200, 60);
+    private static final Color BUDGET_LINE_COLOR = new Color(255, 60, 60, 160);
+
+    private static final int PANEL_MARGIN = 2; // room for outlines and text shadows around a panel
+
+    // each panel is kept in its own image and only repainted when its inputs change
+    private final CachedPanel scorePanel = new CachedPanel(8);
+    private final CachedPanel beamPanel = new CachedPanel(4);
+    private final CachedPanel healthPanel = new CachedPanel(5);
+    private final CachedPanel timerPanel = new CachedPanel(1);
+    private final CachedPanel wavePanel = new CachedPanel(2);
+    private final CachedPanel enemyPanel = new CachedPanel(2);
+    private final CachedPanel timingPanel = new CachedPanel(2);
+    private final CachedPanel stressPanel = new CachedPanel(2);
+
+    // stress chart vertices, reused between redraws
+    private final int[] chartX = new int[256];
+    private final int[] chartY = new int[256];
+
+    // fonts derived once from the frame's default font
+    private Font scoreFont;
+    private Font statsFont;
+    private Font beamFont;
+    private Font healthFont;
+    private Font timerFont;
+    private Font waveFont;
+    private Font timingFont;
+
     // draws the complete hud overlay
     public void drawHUD(Graphics2D g2, int screenWidth, int screenHeight,
             int score, int currency, Character player,
             long lastUltimateTime, long currentTime,
             int waveNumber, long waveStartTime, int enemiesRemaining, String waveStatusText) {
+        if (scoreFont == null) {
+            deriveFonts(g2.getFont());
+        }
         drawScore(g2, score, currency, player);
         drawBeamCooldown(g2, screenWidth, screenHeight, lastUltimateTime, currentTime);
         drawHealthBar(g2, screenWidth, screenHeight, player);
@@ -56,8 +111,18 @@ public class HUDRenderer {
         drawEnemyCounter(g2, screenWidth, enemiesRemaining);
     }
 
+    private void deriveFonts(Font base) {
+        scoreFont = base.deriveFont(Font.BOLD, 16f);
+        statsFont = base.deriveFont(Font.PLAIN, 12f);
+        beamFont = base.deriveFont(Font.BOLD, 12f);
+        healthFont = base.deriveFont(Font.BOLD, 16f);
+        timerFont = base.deriveFont(Font.BOLD, 18f);
+        waveFont = base.deriveFont(Font.BOLD, 22f);
+        timingFont = new Font(Font.MONOSPACED, Font.PLAIN, 12);
+    }
+
     // draws the beam ability cooldown bar
-    public void drawBeamCooldown(Graphics2D g2, int screenWidth, int screenHeight,
+    private void drawBeamCooldown(Graphics2D g2, int screenWidth, int screenHeight,
             long lastUltimateTime, long currentTime) {
         long timeSinceLastUltimate = currentTime - lastUltimateTime;
         double cooldownProgress = Math.min(1.0, (double) timeSinceLastUltimate / ULTIMATE_COOLDOWN_MS);
@@ -65,7 +130,26 @@ public class HUDRenderer {
         // position centered above health bar
         int barX = (screenWidth - BEAM_BAR_WIDTH) / 2;
         int barY = screenHeight - 170; // 40 pixels above health bar
+        int filledWidth = (int) (BEAM_BAR_WIDTH * cooldownProgress);
+        // the label shows tenths of a second, so that is all the panel depends on
+        int tenthsLeft = cooldownProgress >= 1.0 ? -1
+                : (int) Math.round((ULTIMATE_COOLDOWN_MS - timeSinceLastUltimate) / 100.0);
+
+        int[] key = beamPanel.key;
+        key[0] = barX;
+        key[1] = barY;
+        key[2] = filledWidth;
+        key[3] = tenthsLeft;
+        if (beamPanel.isStale()) {
+            Graphics2D pg = beamPanel.begin(g2, barX - 3, barY - 3, BEAM_BAR_WIDTH + 6, BEAM_BAR_HEIGHT + 6);
+            paintBeamCooldown(pg, barX, barY, filledWidth, cooldownProgress, timeSinceLastUltimate);
+            pg.dispose();
+        }
+        beamPanel.draw(g2);
+    }
 
+    private void paintBeamCooldown(Graphics2D g2, int barX, int barY, int filledWidth,
+            double cooldownProgress, long timeSinceLastUltimate) {
         // background
         g2.setColor(SHADOW_COLOR);
         g2.fillRoundRect(barX - 3, barY - 3, BEAM_BAR_WIDTH + 6, BEAM_BAR_HEIGHT + 6, 8, 8);
@@ -75,7 +159,6 @@ public class HUDRenderer {
         g2.fillRoundRect(barX, barY, BEAM_BAR_WIDTH, BEAM_BAR_HEIGHT, 6, 6);
 
         // progress fill
-        int filledWidth = (int) (BEAM_BAR_WIDTH * cooldownProgress);
         if (filledWidth > 0) {
             Color fillColor = cooldownProgress >= 1.0 ? FILLED_BAR_COLOR : FILLED_BAR_PARTIAL;
             g2.setColor(fillColor);
@@ -89,7 +172,7 @@ public class HUDRenderer {
         // text
         String text = cooldownProgress >= 1.0 ? "BEAM READY"
                 : String.format("BEAM: %.1fs", (ULTIMATE_COOLDOWN_MS - timeSinceLastUltimate) / 1000.0);
-        g2.setFont(g2.getFont().deriveFont(Font.BOLD, 12f));
+        g2.setFont(beamFont);
         FontMetrics fm = g2.getFontMetrics();
         int textX = barX + (BEAM_BAR_WIDTH - fm.stringWidth(text)) / 2;
         int textY = barY + (BEAM_BAR_HEIGHT + fm.getAscent()) / 2 - 2;
@@ -101,10 +184,48 @@ public class HUDRenderer {
     }
 
     // draws the score and player stats panel
-    public void drawScore(Graphics2D g2, int score, int currency, Character player) {
-        g2.setFont(g2.getFont().deriveFont(Font.BOLD, 16f));
+    private void drawScore(Graphics2D g2, int score, int currency, Character player) {
+        int[] key = scorePanel.key;
+        key[0] = score;
+        key[1] = currency;
+        key[2] = (int) player.getMaxHealth();
+        key[3] = player.getMaxHealthLevel();
+        key[4] = player.getBulletSpeedLevel();
+        key[5] = player.getFireRateLevel();
+        key[6] = player.getMovementSpeedLevel();
+        key[7] = player.getBulletDamageLevel();
+        if (scorePanel.isStale()) {
+            String scoreText = "Score: " + score;
+            String[] stats = {
+                    "Currency: " + currency + " points",
+                    "Max Health: " + (int) player.getMaxHealth() + " (Lv " + player.getMaxHealthLevel() + ")",
+                    "Bullet Speed: Lv " + player.getBulletSpeedLevel(),
+                    "Fire Rate: Lv " + player.getFireRateLevel(),
+                    "Movement Speed: Lv " + player.getMovementSpeedLevel(),
+                    "Bullet Damage: Lv " + player.getBulletDamageLevel()
+            };
+
+            // panel spans from the score box down to the last stats line
+            FontMetrics scoreMetrics = g2.getFontMetrics(scoreFont);
+            FontMetrics statsMetrics = g2.getFontMetrics(statsFont);
+            int width = scoreMetrics.stringWidth(scoreText) + 20;
+            for (String stat : stats) {
+                width = Math.max(width, statsMetrics.stringWidth(stat) + 20);
+            }
+            int top = SCORE_Y - scoreMetrics.getAscent() - 5;
+            int bottom = SCORE_Y + 40 + (stats.length - 1) * STATS_LINE_HEIGHT
+                    - statsMetrics.getAscent() - 2 + statsMetrics.getHeight() + 4;
+
+            Graphics2D pg = scorePanel.begin(g2, SCORE_X - 10, top, width, bottom - top);
+            paintScore(pg, scoreText, stats);
+            pg.dispose();
+        }
+        scorePanel.draw(g2);
+    }
+
+    private void paintScore(Graphics2D g2, String scoreText, String[] stats) {
+        g2.setFont(scoreFont);
         FontMetrics fm = g2.getFontMetrics();
-        String scoreText = "Score: " + score;
 
         g2.setColor(PANEL_BG_COLOR);
         g2.fillRoundRect(SCORE_X - 10, SCORE_Y - fm.getAscent() - 5,
@@ -113,16 +234,7 @@ public class HUDRenderer {
         g2.drawString(scoreText, SCORE_X, SCORE_Y);
 
         int statsStartY = SCORE_Y + 40;
-        String[] stats = {
-                "Currency: " + currency + " points",
-                "Max Health: " + (int) player.getMaxHealth() + " (Lv " + player.getMaxHealthLevel() + ")",
-                "Bullet Speed: Lv " + player.getBulletSpeedLevel(),
-                "Fire Rate: Lv " + player.getFireRateLevel(),
-                "Movement Speed: Lv " + player.getMovementSpeedLevel(),
-                "Bullet Damage: Lv " + player.getBulletDamageLevel()
-        };
-
-        g2.setFont(g2.getFont().deriveFont(Font.PLAIN, 12f));
+        g2.setFont(statsFont);
         fm = g2.getFontMetrics();
         for (int i = 0; i < stats.length; i++) {
             int lineY = statsStartY + i * STATS_LINE_HEIGHT;
@@ -142,7 +254,23 @@ public class HUDRenderer {
         // calculate health percentage and clamp between 0 and 1
         double healthPercent = player.getHealthLeft() / player.getMaxHealth();
         healthPercent = Math.max(0, Math.min(1, healthPercent));
+        int filledWidth = (int) (HEALTH_BAR_WIDTH * healthPercent);
+
+        int[] key = healthPanel.key;
+        key[0] = x;
+        key[1] = y;
+        key[2] = filledWidth;
+        key[3] = (int) player.getHealthLeft();
+        key[4] = (int) player.getMaxHealth();
+        if (healthPanel.isStale()) {
+            Graphics2D pg = healthPanel.begin(g2, x - 3, y - 3, HEALTH_BAR_WIDTH + 6, HEALTH_BAR_HEIGHT + 6);
+            paintHealthBar(pg, x, y, filledWidth, player);
+            pg.dispose();
+        }
+        healthPanel.draw(g2);
+    }
 
+    private void paintHealthBar(Graphics2D g2, int x, int y, int filledWidth, Character player) {
         // draw layered health bar: shadow, empty bar, filled bar
         g2.setColor(SHADOW_COLOR);
         g2.fillRoundRect(x - 3, y - 3, HEALTH_BAR_WIDTH + 6, HEALTH_BAR_HEIGHT + 6, 10, 10);
@@ -150,7 +278,6 @@ public class HUDRenderer {
         g2.setColor(EMPTY_HEALTH_COLOR);
         g2.fillRoundRect(x, y, HEALTH_BAR_WIDTH, HEALTH_BAR_HEIGHT, 8, 8);
 
-        int filledWidth = (int) (HEALTH_BAR_WIDTH * healthPercent);
         g2.setColor(FILLED_BAR_COLOR);
         g2.fillRoundRect(x, y, filledWidth, HEALTH_BAR_HEIGHT, 8, 8);
 
@@ -158,8 +285,7 @@ public class HUDRenderer {
         g2.drawRoundRect(x, y, HEALTH_BAR_WIDTH, HEALTH_BAR_HEIGHT, 8, 8);
 
         String text = (int) player.getHealthLeft() + " / " + (int) player.getMaxHealth();
-        Font font = g2.getFont().deriveFont(Font.BOLD, 16f);
-        g2.setFont(font);
+        g2.setFont(healthFont);
         FontMetrics fm = g2.getFontMetrics();
         int tx = x + (HEALTH_BAR_WIDTH - fm.stringWidth(text)) / 2;
         int ty = y + (HEALTH_BAR_HEIGHT + fm.getAscent()) / 2 - 4;
@@ -173,64 +299,264 @@ public class HUDRenderer {
 
     // draws wave information centered at top of screen
     private void drawWaveInfo(Graphics2D g2, int screenWidth, int waveNumber, String waveStatusText) {
-        String text = "Wave " + waveNumber;
-        if (waveStatusText != null && !waveStatusText.isEmpty()) {
-            text += " - " + waveStatusText;
+        int[] key = wavePanel.key;
+        key[0] = screenWidth;
+        key[1] = waveNumber;
+        if (wavePanel.isStale(waveStatusText)) {
+            String text = "Wave " + waveNumber;
+            if (waveStatusText != null && !waveStatusText.isEmpty()) {
+                text += " - " + waveStatusText;
+            }
+            FontMetrics fm = g2.getFontMetrics(waveFont);
+            int textWidth = fm.stringWidth(text);
+            int x = (screenWidth - textWidth) / 2;
+            int y = 40;
+
+            Graphics2D pg = wavePanel.begin(g2, x - 12, y - fm.getAscent(), textWidth + 24, fm.getHeight() + 4);
+            paintTextPanel(pg, text, waveFont, x, y, 12, 12);
+            pg.dispose();
         }
-        Font font = g2.getFont().deriveFont(Font.BOLD, 22f);
-        g2.setFont(font);
-        FontMetrics fm = g2.getFontMetrics();
-
-        int textWidth = fm.stringWidth(text);
-        int x = (screenWidth - textWidth) / 2;
-        int y = 40;
-
-        g2.setColor(PANEL_BG_COLOR);
-        g2.fillRoundRect(x - 12, y - fm.getAscent(), textWidth + 24, fm.getHeight() + 4, 12, 12);
-
-        g2.setColor(Color.WHITE);
-        g2.drawString(text, x, y);
+        wavePanel.draw(g2);
     }
 
     // draws elapsed wave time at top-left corner
     private void drawTimerTopLeft(Graphics2D g2, long waveStartTime, long currentTime) {
         long elapsedMs = currentTime - waveStartTime;
         long seconds = elapsedMs / 1000;
-        long minutes = seconds / 60;
-        seconds = seconds % 60;
 
-        String text = String.format("Wave Time: %02d:%02d", minutes, seconds);
-        Font font = g2.getFont().deriveFont(Font.BOLD, 18f);
-        g2.setFont(font);
-        FontMetrics fm = g2.getFontMetrics();
+        timerPanel.key[0] = (int) seconds;
+        if (timerPanel.isStale()) {
+            long minutes = seconds / 60;
+            seconds = seconds % 60;
 
-        int x = 20;
-        int y = 30;
-        int textWidth = fm.stringWidth(text);
+            String text = String.format("Wave Time: %02d:%02d", minutes, seconds);
+            FontMetrics fm = g2.getFontMetrics(timerFont);
 
-        g2.setColor(PANEL_BG_COLOR);
-        g2.fillRoundRect(x - 10, y - fm.getAscent(), textWidth + 20, fm.getHeight() + 4, 10, 10);
+            int x = 20;
+            int y = 30;
+            int textWidth = fm.stringWidth(text);
 
-        g2.setColor(Color.WHITE);
-        g2.drawString(text, x, y);
+            Graphics2D pg = timerPanel.begin(g2, x - 10, y - fm.getAscent(), textWidth + 20, fm.getHeight() + 4);
+            paintTextPanel(pg, text, timerFont, x, y, 10, 10);
+            pg.dispose();
+        }
+        timerPanel.draw(g2);
     }
 
     // draws remaining enemy count at top-right corner
     private void drawEnemyCounter(Graphics2D g2, int screenWidth, int enemiesRemaining) {
-        String text = "Enemies left: " + enemiesRemaining;
-        Font font = g2.getFont().deriveFont(Font.BOLD, 18f);
-        g2.setFont(font);
+        enemyPanel.key[0] = screenWidth;
+        enemyPanel.key[1] = enemiesRemaining;
+        if (enemyPanel.isStale()) {
+            String text = "Enemies left: " + enemiesRemaining;
+            FontMetrics fm = g2.getFontMetrics(timerFont);
+
+            int padding = 20;
+            int textWidth = fm.stringWidth(text);
+            int x = screenWidth - textWidth - padding;
+            int y = 30;
+
+            Graphics2D pg = enemyPanel.begin(g2, x - 10, y - fm.getAscent(), textWidth + 20, fm.getHeight() + 4);
+            paintTextPanel(pg, text, timerFont, x, y, 10, 10);
+            pg.dispose();
+        }
+        enemyPanel.draw(g2);
+    }
+
+    // draws p50/p95/p99/max of every step and paint phase over the last few
+    // seconds in the bottom left corner
+    public void drawTimingOverlay(Graphics2D g2, int screenHeight, FrameProfiler profiler, long caughtUpSteps,
+            long droppedSteps) {
+        if (timingFont == null) {
+            deriveFonts(g2.getFont());
+        }
+        timingPanel.key[0] = screenHeight;
+        timingPanel.key[1] = (int) (System.nanoTime() / TIMING_REFRESH_NANOS);
+        if (timingPanel.isStale()) {
+            FontMetrics fm = g2.getFontMetrics(timingFont);
+            int width = fm.stringWidth(TIMING_HEADER) + 20;
+            int height = (FrameProfiler.PHASE_COUNT + 2) * TIMING_LINE_HEIGHT + 10; // header and loop lines
+            int top = screenHeight - TIMING_BOTTOM_MARGIN - height;
+
+            Graphics2D pg = timingPanel.begin(g2, TIMING_X - 10, top, width, height);
+            paintTimingOverlay(pg, profiler, caughtUpSteps, droppedSteps, top, width, height);
+            pg.dispose();
+        }
+        timingPanel.draw(g2);
+    }
+
+    private void paintTimingOverlay(Graphics2D g2, FrameProfiler profiler, long caughtUpSteps, long droppedSteps,
+            int top, int width, int height) {
+        g2.setColor(PANEL_BG_COLOR);
+        g2.fillRoundRect(TIMING_X - 10, top, width, height, 10, 10);
+
+        g2.setFont(timingFont);
+        int lineY = top + TIMING_LINE_HEIGHT;
+        g2.setColor(Color.WHITE);
+        g2.drawString(TIMING_HEADER, TIMING_X, lineY);
+
+        g2.setColor(STATS_TEXT_COLOR);
+        for (int phase = 0; phase < FrameProfiler.PHASE_COUNT; phase++) {
+            lineY += TIMING_LINE_HEIGHT;
+            // sub-phases are indented under the step or frame they belong to
+            boolean topLevel = phase == FrameProfiler.STEP || phase == FrameProfiler.PAINT
+                    || phase >= FrameProfiler.PRESENT;
+            String indent = topLevel ? ""
+                    : phase == FrameProfiler.COLLISIONS ? "    " : "  ";
+            TimingHistogram histogram = profiler.getRolling(phase);
+            g2.drawString(String.format("%-14s%8.1f%8.1f%8.1f%8.1f", indent + FrameProfiler.getName(phase),
+                    histogram.percentile(0.50) / 1000.0, histogram.percentile(0.95) / 1000.0,
+                    histogram.percentile(0.99) / 1000.0, histogram.max() / 1000.0), TIMING_X, lineY);
+        }
+
+        // steps the loop ran late to catch up, and steps it gave up on, since launch
+        lineY += TIMING_LINE_HEIGHT;
+        g2.setColor(droppedSteps > 0 ? Color.ORANGE : STATS_TEXT_COLOR);
+        g2.drawString(String.format("%-14s%16s%16s", "loop steps", "caught up " + caughtUpSteps,
+                "dropped " + droppedSteps), TIMING_X, lineY);
+    }
+
+    // draws the stress mode readout under the enemy counter: live counts, tick
+    // time percentiles, and average tick time plotted against enemy count
+    public void drawStressReadout(Graphics2D g2, int screenWidth, TickScalingLog log, FrameProfiler profiler,
+            int enemies, int bullets, int particles) {
+        if (statsFont == null) {
+            deriveFonts(g2.getFont());
+        }
+        // the log gains a point four times a second, which is often enough for the text too
+        stressPanel.key[0] = screenWidth;
+        stressPanel.key[1] = (int) log.getPointsAdded();
+        if (stressPanel.isStale()) {
+            int left = screenWidth - STRESS_WIDTH - STRESS_RIGHT_MARGIN;
+            Graphics2D pg = stressPanel.begin(g2, left, STRESS_TOP, STRESS_WIDTH, STRESS_HEIGHT);
+            paintStressReadout(pg, left, log, profiler.getRolling(FrameProfiler.STEP), enemies, bullets, particles);
+            pg.dispose();
+        }
+        stressPanel.draw(g2);
+    }
+
+    private void paintStressReadout(Graphics2D g2, int left, TickScalingLog log, TimingHistogram ticks,
+            int enemies, int bullets, int particles) {
+        g2.setColor(PANEL_BG_COLOR);
+        g2.fillRoundRect(left, STRESS_TOP, STRESS_WIDTH, STRESS_HEIGHT, 10, 10);
+
+        g2.setFont(statsFont);
         FontMetrics fm = g2.getFontMetrics();
+        int textX = left + 10;
+        int lineY = STRESS_TOP + fm.getAscent() + 6;
+        g2.setColor(Color.WHITE);
+        g2.drawString(String.format("enemies %,d   bullets %,d   particles %,d", enemies, bullets, particles),
+                textX, lineY);
+        lineY += fm.getHeight();
+        g2.setColor(STATS_TEXT_COLOR);
+        g2.drawString(String.format("tick p50 %.2f ms   p99 %.2f ms   max %.2f ms", ticks.percentile(0.50) / 1e6,
+                ticks.percentile(0.99) / 1e6, ticks.max() / 1e6), textX, lineY);
+
+        // chart axes: enemies across, average tick time up
+        int chartLeft = left + CHART_LEFT;
+        int chartBottom = STRESS_TOP + STRESS_HEIGHT - 25;
+        int chartTop = chartBottom - CHART_HEIGHT;
+        int maxEnemies = 1;
+        double maxMs = FRAME_BUDGET_MS;
+        for (int i = 0; i < log.getPointCount(); i++) {
+            maxEnemies = Math.max(maxEnemies, log.getEnemyCount(i));
+            maxMs = Math.max(maxMs, log.getTickNanos(i) / 1e6);
+        }
+        g2.setColor(STATS_TEXT_COLOR);
+        g2.drawLine(chartLeft, chartTop, chartLeft, chartBottom);
+        g2.drawLine(chartLeft, chartBottom, chartLeft + CHART_WIDTH, chartBottom);
+        g2.drawString(String.format("%.1f ms", maxMs), chartLeft + 6, chartTop + fm.getAscent() - 2);
+        g2.drawString("0", left + CHART_LEFT - 12, chartBottom);
+        String enemyLabel = String.format("%,d enemies", maxEnemies);
+        g2.drawString(enemyLabel, chartLeft + CHART_WIDTH - fm.stringWidth(enemyLabel), chartBottom + fm.getAscent() + 4);
+
+        // a tick slower than this drops frames at 60 tps
+        int budgetY = chartBottom - (int) (FRAME_BUDGET_MS / maxMs * CHART_HEIGHT);
+        g2.setColor(BUDGET_LINE_COLOR);
+        g2.drawLine(chartLeft + 1, budgetY, chartLeft + CHART_WIDTH, budgetY);
+
+        int points = Math.min(log.getPointCount(), chartX.length);
+        int first = log.getPointCount() - points;
+        for (int i = 0; i < points; i++) {
+            chartX[i] = chartLeft + (int) ((long) log.getEnemyCount(first + i) * CHART_WIDTH / maxEnemies);
+            chartY[i] = chartBottom - (int) (log.getTickNanos(first + i) / 1e6 / maxMs * CHART_HEIGHT);
+        }
+        g2.setColor(CHART_LINE_COLOR);
+        g2.drawPolyline(chartX, chartY, points);
+    }
 
-        int padding = 20;
+    // draws a single line of white text on a rounded translucent background
+    private void paintTextPanel(Graphics2D g2, String text, Font font, int x, int y, int padding, int arc) {
+        g2.setFont(font);
+        FontMetrics fm = g2.getFontMetrics();
         int textWidth = fm.stringWidth(text);
-        int x = screenWidth - textWidth - padding;
-        int y = 30;
 
         g2.setColor(PANEL_BG_COLOR);
-        g2.fillRoundRect(x - 10, y - fm.getAscent(), textWidth + 20, fm.getHeight() + 4, 10, 10);
+        g2.fillRoundRect(x - padding, y - fm.getAscent(), textWidth + padding * 2, fm.getHeight() + 4, arc, arc);
 
         g2.setColor(Color.WHITE);
         g2.drawString(text, x, y);
     }
+
+    // a hud panel retained in its own translucent image; the owner fills in key
+    // with every value the panel shows and repaints only when isStale says so
+    private static class CachedPanel {
+
+        private final int[] key;
+        private final int[] lastKey;
+        private String lastText;
+        private boolean painted;
+
+        private BufferedImage image;
+        private int x; // screen position of the image
+        private int y;
+
+        CachedPanel(int keySize) {
+            this.key = new int[keySize];
+            this.lastKey = new int[keySize];
+        }
+
+        boolean isStale() {
+            return isStale(null);
+        }
+
+        // compares key (and an optional text input) to what was last painted
+        boolean isStale(String text) {
+            boolean stale = !painted || !Arrays.equals(key, lastKey)
+                    || (text == null ? lastText != null : !text.equals(lastText));
+            if (stale) {
+                System.arraycopy(key, 0, lastKey, 0, key.length);
+                lastText = text;
+                painted = true;
+            }
+            return stale;
+        }
+
+        // clears the image for a panel covering the given screen rectangle and
+        // returns a graphics that draws in screen coordinates; the image is
+        // only reallocated when the panel outgrows it
+        Graphics2D begin(Graphics2D screen, int left, int top, int width, int height) {
+            x = left - PANEL_MARGIN;
+            y = top - PANEL_MARGIN;
+            int w = width + PANEL_MARGIN * 2;
+            int h = height + PANEL_MARGIN * 2;
+            if (image == null || image.getWidth() < w || image.getHeight() < h) {
+                image = screen.getDeviceConfiguration().createCompatibleImage(
+                        Math.max(w, image == null ? 0 : image.getWidth()),
+                        Math.max(h, image == null ? 0 : image.getHeight()),
+                        Transparency.TRANSLUCENT);
+            }
+            Graphics2D g2 = image.createGraphics();
+            g2.setComposite(AlphaComposite.Clear);
+            g2.fillRect(0, 0, image.getWidth(), image.getHeight());
+            g2.setComposite(AlphaComposite.SrcOver);
+            g2.setRenderingHints(screen.getRenderingHints());
+            g2.translate(-x, -y);
+            return g2;
+        }
+
+        void draw(Graphics2D g2) {
+            g2.drawImage(image, x, y, null);
+        }
+    }
 }
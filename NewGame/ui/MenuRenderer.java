@@ -13,11 +13,14 @@ import java.awt.Color;
 import java.awt.Font;
 import java.awt.FontMetrics;
 import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
 import java.awt.Polygon;
 import java.awt.Rectangle;
 import java.awt.BasicStroke;
+import java.awt.Transparency;
 import java.awt.image.BufferedImage;
 import java.io.File;
+import java.util.Arrays;
 import javax.imageio.ImageIO;
 
 public class MenuRenderer {
@@ -60,10 +63,37 @@ public class MenuRenderer {
     private static final Color CONTINUE_BORDER_HOVER = new Color(0, 255, 0);
     private static final Color SUBTEXT_COLOR = new Color(200, 200, 200);
 
+    // shared strokes, strokes are immutable
+    private static final BasicStroke STROKE_2 = new BasicStroke(2);
+    private static final BasicStroke STROKE_3 = new BasicStroke(3);
+    private static final BasicStroke STROKE_4 = new BasicStroke(4);
+    private static final int HOVER_OUTLINE_MARGIN = 3; // hovered outlines spill past the button rect
+
+    // screen ids for the static layer cache
+    private static final int SCREEN_MAIN_MENU = 1;
+    private static final int SCREEN_HOW_TO_PLAY = 2;
+    private static final int SCREEN_GAME_OVER = 3;
+    private static final int SCREEN_SHOP = 4;
+
+    // menu button layout
+    private static final int MENU_BUTTON_WIDTH = 300;
+    private static final int MENU_BUTTON_HEIGHT = 60;
+    private static final int MENU_BUTTON_SPACING = 30;
+    private static final String[] MAIN_MENU_BUTTONS = { "Play", "How to Play", "Quit" };
+    private static final String[] GAME_OVER_BUTTONS = { "Return to Main Menu", "Play Again" };
+
+    // shop layout
+    private static final int SHOP_PANEL_WIDTH = 800;
+    private static final int SHOP_CONTAINER_WIDTH = 500;
+    private static final int SHOP_BUTTON_WIDTH = 200;
+    private static final int SHOP_BUTTON_HEIGHT = 50;
+    private static final int SHOP_ROW_SPACING = 65; // total height per row (stat + progress bar)
+
     private final int screenWidth;
     private final int screenHeight;
 
     private final ButtonManager buttonManager;
+    private final StaticLayer staticLayer;
     private BufferedImage playerImage = null;
 
     private static void drawSpaceBackground(Graphics2D g2, int width, int height) {
@@ -93,6 +123,7 @@ public class MenuRenderer {
         this.screenWidth = screenWidth;
         this.screenHeight = screenHeight;
         this.buttonManager = new ButtonManager();
+        this.staticLayer = new StaticLayer(screenWidth, screenHeight);
         loadPlayerImage();
     }
 
@@ -104,12 +135,43 @@ public class MenuRenderer {
         }
     }
 
-    public void updateHover(int mouseX, int mouseY, boolean isMenu, boolean isShop) {
+    // updates hover state and returns the screen area whose look changed, or
+    // null when the hovered button is the same as before
+    public Rectangle updateHover(int mouseX, int mouseY, boolean isMenu, boolean isShop) {
         if (isMenu) {
+            int previous = buttonManager.getHoveredMenuButtonIndex();
             buttonManager.updateMenuHover(mouseX, mouseY);
+            return hoverDamage(previous, buttonManager.getHoveredMenuButtonIndex(), false);
         } else if (isShop) {
+            int previous = buttonManager.getHoveredShopButtonIndex();
             buttonManager.updateShopHover(mouseX, mouseY);
+            return hoverDamage(previous, buttonManager.getHoveredShopButtonIndex(), true);
         }
+        return null;
+    }
+
+    // union of the old and new hovered button rects, grown to cover the
+    // thicker hover outline
+    private Rectangle hoverDamage(int previous, int current, boolean isShop) {
+        if (previous == current) {
+            return null;
+        }
+        Rectangle damage = null;
+        for (int index : new int[] { previous, current }) {
+            if (index < 0) {
+                continue;
+            }
+            Rectangle rect = isShop ? buttonManager.getShopButton(index) : buttonManager.getMenuButton(index);
+            if (damage == null) {
+                damage = new Rectangle(rect);
+            } else {
+                damage.add(rect);
+            }
+        }
+        if (damage != null) {
+            damage.grow(HOVER_OUTLINE_MARGIN, HOVER_OUTLINE_MARGIN);
+        }
+        return damage;
     }
 
     public int getClickedMenuButton(int x, int y) {
@@ -121,6 +183,42 @@ public class MenuRenderer {
     }
 
     public void drawMainMenu(Graphics2D g2, int highScore) {
+        int[] key = staticLayer.resetKey();
+        key[0] = SCREEN_MAIN_MENU;
+        key[1] = highScore;
+        if (staticLayer.isStale()) {
+            Graphics2D lg = staticLayer.begin(g2);
+            paintMainMenuStatic(lg, highScore);
+            lg.dispose();
+        }
+        staticLayer.draw(g2);
+
+        // menu buttons (play, how to play, quit)
+        int startY = mainMenuButtonsY();
+        buttonManager.clearMenuButtons();
+
+        for (int i = 0; i < MAIN_MENU_BUTTONS.length; i++) {
+            int x = (screenWidth - MENU_BUTTON_WIDTH) / 2;
+            int y = startY + i * (MENU_BUTTON_HEIGHT + MENU_BUTTON_SPACING);
+
+            if (y + MENU_BUTTON_HEIGHT > screenHeight - 80)
+                break;
+
+            drawMenuButton(g2, MAIN_MENU_BUTTONS[i], x, y, MENU_BUTTON_WIDTH, MENU_BUTTON_HEIGHT, 32f,
+                    buttonManager.isMenuButtonHovered(i));
+            buttonManager.addMenuButton(new Rectangle(x, y, MENU_BUTTON_WIDTH, MENU_BUTTON_HEIGHT));
+        }
+    }
+
+    // top of the first main menu button, the high score sits below the last one
+    private int mainMenuButtonsY() {
+        int count = MAIN_MENU_BUTTONS.length;
+        int totalButtonHeight = count * MENU_BUTTON_HEIGHT + (count - 1) * MENU_BUTTON_SPACING;
+        return (screenHeight - totalButtonHeight - 100) / 2 + 100;
+    }
+
+    // everything on the main menu that does not react to the mouse
+    private void paintMainMenuStatic(Graphics2D g2, int highScore) {
         drawSpaceBackground(g2, screenWidth, screenHeight);
 
         // main menu title with glow effect
@@ -137,50 +235,13 @@ public class MenuRenderer {
         g2.setColor(TITLE_COLOR);
         g2.drawString(title, titleX, titleY);
 
-        // menu buttons (play, how to play, quit)
-        int buttonWidth = 300;
-        int buttonHeight = 60;
-        int buttonSpacing = 30;
-        String[] buttonTexts = { "Play", "How to Play", "Quit" };
-        int totalButtonHeight = buttonTexts.length * buttonHeight + (buttonTexts.length - 1) * buttonSpacing;
-        int startY = (screenHeight - totalButtonHeight - 100) / 2 + 100;
-
-        buttonManager.clearMenuButtons();
-
-        for (int i = 0; i < buttonTexts.length; i++) {
-            int x = (screenWidth - buttonWidth) / 2;
-            int y = startY + i * (buttonHeight + buttonSpacing);
-
-            if (y + buttonHeight > screenHeight - 80)
-                break;
-
-            boolean isHovered = buttonManager.isMenuButtonHovered(i);
-            Color bgColor = isHovered ? BUTTON_BG_HOVER : BUTTON_BG_DEFAULT;
-            Color borderColor = isHovered ? BUTTON_BORDER_HOVER : BUTTON_BORDER_DEFAULT;
-
-            g2.setColor(bgColor);
-            g2.fillRoundRect(x, y, buttonWidth, buttonHeight, 15, 15);
-            g2.setColor(borderColor);
-            g2.setStroke(new BasicStroke(isHovered ? 4 : 3));
-            g2.drawRoundRect(x, y, buttonWidth, buttonHeight, 15, 15);
-
-            g2.setFont(g2.getFont().deriveFont(Font.BOLD, 32f));
-            fm = g2.getFontMetrics();
-            int textX = x + (buttonWidth - fm.stringWidth(buttonTexts[i])) / 2;
-            int textY = y + (buttonHeight + fm.getAscent()) / 2 - 5;
-            g2.setColor(Color.WHITE);
-            g2.drawString(buttonTexts[i], textX, textY);
-
-            buttonManager.addMenuButton(new Rectangle(x, y, buttonWidth, buttonHeight));
-        }
-
         // high score display
         if (highScore > 0) {
             g2.setFont(g2.getFont().deriveFont(Font.BOLD, 24f));
             fm = g2.getFontMetrics();
             String highScoreText = "High Score: " + highScore;
             int hsX = (screenWidth - fm.stringWidth(highScoreText)) / 2;
-            int hsY = startY + buttonTexts.length * (buttonHeight + buttonSpacing) + 40;
+            int hsY = mainMenuButtonsY() + MAIN_MENU_BUTTONS.length * (MENU_BUTTON_HEIGHT + MENU_BUTTON_SPACING) + 40;
             if (hsY + fm.getHeight() <= screenHeight - 20) {
                 g2.setColor(Color.YELLOW);
                 g2.drawString(highScoreText, hsX, hsY);
@@ -188,7 +249,49 @@ public class MenuRenderer {
         }
     }
 
+    // draws a rounded menu button with centered label, highlighted when hovered
+    private void drawMenuButton(Graphics2D g2, String text, int x, int y, int width, int height,
+            float fontSize, boolean isHovered) {
+        Color bgColor = isHovered ? BUTTON_BG_HOVER : BUTTON_BG_DEFAULT;
+        Color borderColor = isHovered ? BUTTON_BORDER_HOVER : BUTTON_BORDER_DEFAULT;
+
+        g2.setColor(bgColor);
+        g2.fillRoundRect(x, y, width, height, 15, 15);
+        g2.setColor(borderColor);
+        g2.setStroke(isHovered ? STROKE_4 : STROKE_3);
+        g2.drawRoundRect(x, y, width, height, 15, 15);
+
+        g2.setFont(g2.getFont().deriveFont(Font.BOLD, fontSize));
+        FontMetrics fm = g2.getFontMetrics();
+        int textX = x + (width - fm.stringWidth(text)) / 2;
+        int textY = y + (height + fm.getAscent()) / 2 - 5;
+        g2.setColor(Color.WHITE);
+        g2.drawString(text, textX, textY);
+    }
+
     public void drawHowToPlay(Graphics2D g2) {
+        staticLayer.resetKey()[0] = SCREEN_HOW_TO_PLAY;
+        if (staticLayer.isStale()) {
+            Graphics2D lg = staticLayer.begin(g2);
+            paintHowToPlayStatic(lg);
+            lg.dispose();
+        }
+        staticLayer.draw(g2);
+
+        // back button (smaller)
+        int buttonWidth = 250;
+        int buttonHeight = 50;
+        int buttonX = (screenWidth - buttonWidth) / 2;
+        int buttonY = screenHeight - buttonHeight - 40;
+
+        buttonManager.clearMenuButtons();
+        drawMenuButton(g2, "Back to Main Menu", buttonX, buttonY, buttonWidth, buttonHeight, 24f,
+                buttonManager.isMenuButtonHovered(0));
+        buttonManager.addMenuButton(new Rectangle(buttonX, buttonY, buttonWidth, buttonHeight));
+    }
+
+    // everything on the how to play screen except the back button
+    private void paintHowToPlayStatic(Graphics2D g2) {
         drawSpaceBackground(g2, screenWidth, screenHeight);
 
         // title
@@ -225,7 +328,7 @@ public class MenuRenderer {
         g2.setColor(PANEL_BG);
         g2.fillRoundRect(leftBoxX, boxY, leftBoxWidth, boxHeight, cornerRadius, cornerRadius);
         g2.setColor(BUTTON_BORDER_DEFAULT);
-        g2.setStroke(new BasicStroke(3));
+        g2.setStroke(STROKE_3);
         g2.drawRoundRect(leftBoxX, boxY, leftBoxWidth, boxHeight, cornerRadius, cornerRadius);
         drawCharacterSection(g2, leftBoxX + 20, boxY, leftBoxWidth - 40, boxHeight);
 
@@ -233,37 +336,9 @@ public class MenuRenderer {
         g2.setColor(PANEL_BG);
         g2.fillRoundRect(rightBoxX, boxY, rightBoxWidth, boxHeight, cornerRadius, cornerRadius);
         g2.setColor(BUTTON_BORDER_DEFAULT);
-        g2.setStroke(new BasicStroke(3));
+        g2.setStroke(STROKE_3);
         g2.drawRoundRect(rightBoxX, boxY, rightBoxWidth, boxHeight, cornerRadius, cornerRadius);
         drawEnemySection(g2, rightBoxX + 20, boxY, rightBoxWidth - 40, boxHeight);
-
-        // back button (smaller)
-        int buttonWidth = 250;
-        int buttonHeight = 50;
-        int buttonX = (screenWidth - buttonWidth) / 2;
-        int buttonY = screenHeight - buttonHeight - 40;
-
-        buttonManager.clearMenuButtons();
-
-        boolean isBackHovered = buttonManager.isMenuButtonHovered(0);
-        Color backBgColor = isBackHovered ? BUTTON_BG_HOVER : BUTTON_BG_DEFAULT;
-        Color backBorderColor = isBackHovered ? BUTTON_BORDER_HOVER : BUTTON_BORDER_DEFAULT;
-
-        g2.setColor(backBgColor);
-        g2.fillRoundRect(buttonX, buttonY, buttonWidth, buttonHeight, 15, 15);
-        g2.setColor(backBorderColor);
-        g2.setStroke(new BasicStroke(isBackHovered ? 4 : 3));
-        g2.drawRoundRect(buttonX, buttonY, buttonWidth, buttonHeight, 15, 15);
-
-        g2.setFont(g2.getFont().deriveFont(Font.BOLD, 24f));
-        fm = g2.getFontMetrics();
-        String backText = "Back to Main Menu";
-        int textX = buttonX + (buttonWidth - fm.stringWidth(backText)) / 2;
-        int textY = buttonY + (buttonHeight + fm.getAscent()) / 2 - 5;
-        g2.setColor(Color.WHITE);
-        g2.drawString(backText, textX, textY);
-
-        buttonManager.addMenuButton(new Rectangle(buttonX, buttonY, buttonWidth, buttonHeight));
     }
 
     private void drawWrappedText(Graphics2D g2, String text, int x, int y, int maxWidth, FontMetrics fm) {
@@ -371,7 +446,7 @@ public class MenuRenderer {
         g2.setColor(TEXT_DIVIDER);
         g2.fillRoundRect(x, y, size, size, 5, 5);
         g2.setColor(Color.WHITE);
-        g2.setStroke(new BasicStroke(2));
+        g2.setStroke(STROKE_2);
         g2.drawRoundRect(x, y, size, size, 5, 5);
         g2.setFont(g2.getFont().deriveFont(Font.BOLD, 14f));
         FontMetrics fm = g2.getFontMetrics();
@@ -622,6 +697,41 @@ public class MenuRenderer {
     }
 
     public void drawGameOver(Graphics2D g2, int score, int waveNumber, int highScore) {
+        int[] key = staticLayer.resetKey();
+        key[0] = SCREEN_GAME_OVER;
+        key[1] = score;
+        key[2] = waveNumber;
+        key[3] = highScore;
+        if (staticLayer.isStale()) {
+            Graphics2D lg = staticLayer.begin(g2);
+            paintGameOverStatic(lg, score, waveNumber, highScore);
+            lg.dispose();
+        }
+        staticLayer.draw(g2);
+
+        // menu and play again buttons
+        String[] buttonTexts = GAME_OVER_BUTTONS;
+        int totalButtonHeight = buttonTexts.length * MENU_BUTTON_HEIGHT
+                + (buttonTexts.length - 1) * MENU_BUTTON_SPACING;
+        int startY = Math.min(520, screenHeight - totalButtonHeight - 40);
+
+        buttonManager.clearMenuButtons();
+
+        for (int i = 0; i < buttonTexts.length; i++) {
+            int x = (screenWidth - MENU_BUTTON_WIDTH) / 2;
+            int y = startY + i * (MENU_BUTTON_HEIGHT + MENU_BUTTON_SPACING);
+
+            if (y + MENU_BUTTON_HEIGHT > screenHeight - 20)
+                break;
+
+            drawMenuButton(g2, buttonTexts[i], x, y, MENU_BUTTON_WIDTH, MENU_BUTTON_HEIGHT, 24f,
+                    buttonManager.isMenuButtonHovered(i));
+            buttonManager.addMenuButton(new Rectangle(x, y, MENU_BUTTON_WIDTH, MENU_BUTTON_HEIGHT));
+        }
+    }
+
+    // game over title and final stats
+    private void paintGameOverStatic(Graphics2D g2, int score, int waveNumber, int highScore) {
         drawSpaceBackground(g2, screenWidth, screenHeight);
 
         // game over title
@@ -653,58 +763,125 @@ public class MenuRenderer {
             g2.setColor(Color.YELLOW);
             g2.drawString(newHighScoreText, nhsX, 380);
         }
+    }
 
-        // menu and play again buttons
-        int buttonWidth = 300;
-        int buttonHeight = 60;
-        int buttonSpacing = 30;
-        String[] buttonTexts = { "Return to Main Menu", "Play Again" };
-        int totalButtonHeight = buttonTexts.length * buttonHeight + (buttonTexts.length - 1) * buttonSpacing;
-        int startY = Math.min(520, screenHeight - totalButtonHeight - 40);
+    public void drawUpgradeShop(Graphics2D g2, Character player, int currency, int score) {
+        int[] levels = {
+                player.getMaxHealthLevel(),
+                player.getBulletSpeedLevel(),
+                player.getFireRateLevel(),
+                player.getMovementSpeedLevel(),
+                player.getBulletDamageLevel()
+        };
 
-        buttonManager.clearMenuButtons();
+        int[] key = staticLayer.resetKey();
+        key[0] = SCREEN_SHOP;
+        key[1] = currency;
+        key[2] = score;
+        key[3] = (int) player.getHealthLeft();
+        key[4] = (int) player.getMaxHealth();
+        System.arraycopy(levels, 0, key, 5, levels.length);
+        if (staticLayer.isStale()) {
+            Graphics2D lg = staticLayer.begin(g2);
+            paintUpgradeShopStatic(lg, player, currency, score, levels);
+            lg.dispose();
+        }
+        staticLayer.draw(g2);
 
-        for (int i = 0; i < buttonTexts.length; i++) {
-            int x = (screenWidth - buttonWidth) / 2;
-            int y = startY + i * (buttonHeight + buttonSpacing);
+        int panelX = screenWidth / 2 - SHOP_PANEL_WIDTH / 2;
+        int panelY = (screenHeight - shopPanelHeight()) / 2;
+        int yStart = panelY + 100;
+        int containerX = panelX + (SHOP_PANEL_WIDTH - SHOP_CONTAINER_WIDTH) / 2;
+        int btnX = containerX + SHOP_CONTAINER_WIDTH - SHOP_BUTTON_WIDTH;
 
-            if (y + buttonHeight > screenHeight - 20)
-                break;
+        buttonManager.clearShopButtons();
 
-            boolean isHovered = buttonManager.isMenuButtonHovered(i);
-            Color bgColor = isHovered ? BUTTON_BG_HOVER : BUTTON_BG_DEFAULT;
-            Color borderColor = isHovered ? BUTTON_BORDER_HOVER : BUTTON_BORDER_DEFAULT;
+        // one upgrade button per stat
+        for (int i = 0; i < levels.length; i++) {
+            int y = yStart + i * SHOP_ROW_SPACING;
+            boolean canUpgrade = currency > 0 && levels[i] < 10;
+            boolean isHovered = buttonManager.isShopButtonHovered(i);
+            String btnText = canUpgrade ? "Upgrade (1 point)" : (levels[i] >= 10 ? "Max Level" : "Need Currency");
+            drawShopButton(g2, btnText, btnX, y, canUpgrade, isHovered,
+                    isHovered ? UPGRADE_BG_HOVER : UPGRADE_BG, isHovered ? UPGRADE_BORDER_HOVER : UPGRADE_BORDER);
+        }
 
-            g2.setColor(bgColor);
-            g2.fillRoundRect(x, y, buttonWidth, buttonHeight, 15, 15);
-            g2.setColor(borderColor);
-            g2.setStroke(new BasicStroke(isHovered ? 4 : 3));
-            g2.drawRoundRect(x, y, buttonWidth, buttonHeight, 15, 15);
+        int extraY = yStart + levels.length * SHOP_ROW_SPACING + 30;
+        boolean canBuy = currency > 0;
 
-            g2.setFont(g2.getFont().deriveFont(Font.BOLD, 24f));
-            fm = g2.getFontMetrics();
-            int textX = x + (buttonWidth - fm.stringWidth(buttonTexts[i])) / 2;
-            int textY = y + (buttonHeight + fm.getAscent()) / 2 - 5;
-            g2.setColor(Color.WHITE);
-            g2.drawString(buttonTexts[i], textX, textY);
+        // buy health button
+        boolean isHealthHovered = buttonManager.isShopButtonHovered(5);
+        drawShopButton(g2, canBuy ? "Buy (1 point)" : "Need Currency", btnX, extraY, canBuy, isHealthHovered,
+                isHealthHovered ? HEALTH_BG_HOVER : HEALTH_BG, isHealthHovered ? HEALTH_BORDER_HOVER : HEALTH_BORDER);
 
-            buttonManager.addMenuButton(new Rectangle(x, y, buttonWidth, buttonHeight));
-        }
+        // buy score button
+        int scoreY = extraY + SHOP_ROW_SPACING;
+        boolean isScoreHovered = buttonManager.isShopButtonHovered(6);
+        drawShopButton(g2, canBuy ? "Buy (1 point)" : "Need Currency", btnX, scoreY, canBuy, isScoreHovered,
+                isScoreHovered ? SCORE_BG_HOVER : SCORE_BG, isScoreHovered ? SCORE_BORDER_HOVER : SCORE_BORDER);
+
+        // continue button
+        int continueButtonWidth = 350;
+        int continueButtonHeight = 60;
+        int continueButtonX = panelX + (SHOP_PANEL_WIDTH - continueButtonWidth) / 2;
+        int continueButtonY = Math.min(panelY + shopPanelHeight() - continueButtonHeight - 20,
+                screenHeight - continueButtonHeight - 20);
+
+        // continue button is button index 7 (5 upgrades + health + score = 7)
+        boolean isContinueHovered = buttonManager.isShopButtonHovered(7);
+        g2.setColor(isContinueHovered ? CONTINUE_BG_HOVER : CONTINUE_BG);
+        g2.fillRoundRect(continueButtonX, continueButtonY, continueButtonWidth, continueButtonHeight, 10, 10);
+        g2.setColor(isContinueHovered ? CONTINUE_BORDER_HOVER : CONTINUE_BORDER);
+        g2.setStroke(isContinueHovered ? STROKE_4 : STROKE_3);
+        g2.drawRoundRect(continueButtonX, continueButtonY, continueButtonWidth, continueButtonHeight, 10, 10);
+
+        g2.setFont(g2.getFont().deriveFont(Font.BOLD, 24f));
+        FontMetrics fm = g2.getFontMetrics();
+        String continueText = "Continue to Next Wave";
+        int continueTextX = continueButtonX + (continueButtonWidth - fm.stringWidth(continueText)) / 2;
+        int continueTextY = continueButtonY + (continueButtonHeight + fm.getAscent()) / 2 - 5;
+        g2.setColor(Color.WHITE);
+        g2.drawString(continueText, continueTextX, continueTextY);
+
+        buttonManager.addShopButton(
+                new Rectangle(continueButtonX, continueButtonY, continueButtonWidth, continueButtonHeight));
     }
 
-    public void drawUpgradeShop(Graphics2D g2, Character player, int currency, int score) {
+    private int shopPanelHeight() {
+        return Math.min(700, screenHeight - 100);
+    }
+
+    // draws one shop purchase button and registers it; disabled buttons are grey
+    private void drawShopButton(Graphics2D g2, String text, int x, int y, boolean enabled, boolean isHovered,
+            Color bgColor, Color borderColor) {
+        g2.setColor(enabled ? bgColor : DISABLED_COLOR);
+        g2.fillRoundRect(x, y, SHOP_BUTTON_WIDTH, SHOP_BUTTON_HEIGHT, 10, 10);
+        g2.setColor(enabled ? borderColor : DISABLED_BORDER);
+        g2.setStroke(isHovered ? STROKE_3 : STROKE_2);
+        g2.drawRoundRect(x, y, SHOP_BUTTON_WIDTH, SHOP_BUTTON_HEIGHT, 10, 10);
+
+        g2.setColor(Color.WHITE);
+        g2.setFont(g2.getFont().deriveFont(Font.BOLD, 16f));
+        FontMetrics fm = g2.getFontMetrics();
+        g2.drawString(text, x + (SHOP_BUTTON_WIDTH - fm.stringWidth(text)) / 2, y + 32);
+
+        buttonManager.addShopButton(new Rectangle(x, y, SHOP_BUTTON_WIDTH, SHOP_BUTTON_HEIGHT));
+    }
+
+    // shop panel, title, stat levels and purchase descriptions, without buttons
+    private void paintUpgradeShopStatic(Graphics2D g2, Character player, int currency, int score, int[] levels) {
         drawSpaceBackground(g2, screenWidth, screenHeight);
 
         // center shop panel on screen
-        int panelWidth = 800;
-        int panelHeight = Math.min(700, screenHeight - 100);
+        int panelWidth = SHOP_PANEL_WIDTH;
+        int panelHeight = shopPanelHeight();
         int panelX = screenWidth / 2 - panelWidth / 2;
         int panelY = (screenHeight - panelHeight) / 2;
 
         g2.setColor(SHOP_PANEL_BG);
         g2.fillRoundRect(panelX, panelY, panelWidth, panelHeight, 20, 20);
         g2.setColor(Color.WHITE);
-        g2.setStroke(new BasicStroke(3));
+        g2.setStroke(STROKE_3);
         g2.drawRoundRect(panelX, panelY, panelWidth, panelHeight, 20, 20);
 
         // shop title with currency
@@ -717,27 +894,14 @@ public class MenuRenderer {
 
         // upgrade stats with progress bars
         int yStart = panelY + 100;
-        int buttonWidth = 200;
-        int buttonHeight = 50;
-        int rowSpacing = 65; // Total height per row (stat + progress bar)
         int progressBarWidth = 200;
         int progressBarHeight = 20;
-        int containerWidth = 500;
-        int containerX = panelX + (panelWidth - containerWidth) / 2;
+        int containerX = panelX + (panelWidth - SHOP_CONTAINER_WIDTH) / 2;
 
         String[] statNames = { "Max Health", "Bullet Speed", "Fire Rate", "Movement Speed", "Bullet Damage" };
-        int[] levels = {
-                player.getMaxHealthLevel(),
-                player.getBulletSpeedLevel(),
-                player.getFireRateLevel(),
-                player.getMovementSpeedLevel(),
-                player.getBulletDamageLevel()
-        };
-
-        buttonManager.clearShopButtons();
 
         for (int i = 0; i < statNames.length; i++) {
-            int y = yStart + i * rowSpacing;
+            int y = yStart + i * SHOP_ROW_SPACING;
 
             g2.setColor(Color.WHITE);
             g2.setFont(g2.getFont().deriveFont(Font.BOLD, 18f));
@@ -755,31 +919,11 @@ public class MenuRenderer {
                 g2.fillRoundRect(progX + seg * segmentWidth + 2, progY + 2, segmentWidth - 4, progressBarHeight - 4, 3,
                         3);
             }
-
-            int btnX = containerX + containerWidth - buttonWidth;
-            boolean canUpgrade = currency > 0 && levels[i] < 10;
-            boolean isHovered = buttonManager.isShopButtonHovered(i);
-            g2.setColor(
-                    canUpgrade ? (isHovered ? UPGRADE_BG_HOVER : UPGRADE_BG) : DISABLED_COLOR);
-            g2.fillRoundRect(btnX, y, buttonWidth, buttonHeight, 10, 10);
-            g2.setColor(
-                    canUpgrade ? (isHovered ? UPGRADE_BORDER_HOVER : UPGRADE_BORDER) : DISABLED_BORDER);
-            g2.setStroke(new BasicStroke(isHovered ? 3 : 2));
-            g2.drawRoundRect(btnX, y, buttonWidth, buttonHeight, 10, 10);
-
-            g2.setColor(Color.WHITE);
-            g2.setFont(g2.getFont().deriveFont(Font.BOLD, 16f));
-            String btnText = canUpgrade ? "Upgrade (1 point)" : (levels[i] >= 10 ? "Max Level" : "Need Currency");
-            fm = g2.getFontMetrics();
-            int textX = btnX + (buttonWidth - fm.stringWidth(btnText)) / 2;
-            g2.drawString(btnText, textX, y + 32);
-
-            buttonManager.addShopButton(new Rectangle(btnX, y, buttonWidth, buttonHeight));
         }
 
-        int extraY = yStart + statNames.length * rowSpacing + 30;
+        int extraY = yStart + statNames.length * SHOP_ROW_SPACING + 30;
 
-        // buy health button
+        // buy health description
         g2.setColor(Color.WHITE);
         g2.setFont(g2.getFont().deriveFont(Font.BOLD, 18f));
         g2.drawString("Buy Health +20 HP", containerX, extraY + 20);
@@ -788,75 +932,65 @@ public class MenuRenderer {
         g2.drawString("Current: " + (int) player.getHealthLeft() + "/" + (int) player.getMaxHealth(), containerX,
                 extraY + 38);
 
-        int healthBtnX = containerX + containerWidth - buttonWidth;
-        boolean canBuyHealth = currency > 0;
-        boolean isHealthHovered = buttonManager.isShopButtonHovered(5);
-        g2.setColor(canBuyHealth ? (isHealthHovered ? HEALTH_BG_HOVER : HEALTH_BG)
-                : DISABLED_COLOR);
-        g2.fillRoundRect(healthBtnX, extraY, buttonWidth, buttonHeight, 10, 10);
-        g2.setColor(canBuyHealth ? (isHealthHovered ? HEALTH_BORDER_HOVER : HEALTH_BORDER)
-                : DISABLED_BORDER);
-        g2.setStroke(new BasicStroke(isHealthHovered ? 3 : 2));
-        g2.drawRoundRect(healthBtnX, extraY, buttonWidth, buttonHeight, 10, 10);
-
-        g2.setColor(Color.WHITE);
-        g2.setFont(g2.getFont().deriveFont(Font.BOLD, 16f));
-        String healthBtnText = canBuyHealth ? "Buy (1 point)" : "Need Currency";
-        fm = g2.getFontMetrics();
-        g2.drawString(healthBtnText, healthBtnX + (buttonWidth - fm.stringWidth(healthBtnText)) / 2, extraY + 32);
-        buttonManager.addShopButton(new Rectangle(healthBtnX, extraY, buttonWidth, buttonHeight));
-
-        // buy score button
-        int scoreY = extraY + rowSpacing;
+        // buy score description
+        int scoreY = extraY + SHOP_ROW_SPACING;
         g2.setColor(Color.WHITE);
         g2.setFont(g2.getFont().deriveFont(Font.BOLD, 18f));
         g2.drawString("Buy Score +10", containerX, scoreY + 20);
         g2.setFont(g2.getFont().deriveFont(Font.PLAIN, 14f));
         g2.setColor(SUBTEXT_COLOR);
         g2.drawString("Current Score: " + score, containerX, scoreY + 38);
+    }
 
-        int scoreBtnX = containerX + containerWidth - buttonWidth;
-        boolean canBuyScore = currency > 0;
-        boolean isScoreHovered = buttonManager.isShopButtonHovered(6);
-        g2.setColor(canBuyScore ? (isScoreHovered ? SCORE_BG_HOVER : SCORE_BG)
-                : DISABLED_COLOR);
-        g2.fillRoundRect(scoreBtnX, scoreY, buttonWidth, buttonHeight, 10, 10);
-        g2.setColor(canBuyScore ? (isScoreHovered ? SCORE_BORDER_HOVER : SCORE_BORDER)
-                : DISABLED_BORDER);
-        g2.setStroke(new BasicStroke(isScoreHovered ? 3 : 2));
-        g2.drawRoundRect(scoreBtnX, scoreY, buttonWidth, buttonHeight, 10, 10);
+    // full-screen image holding everything on the current screen that does not
+    // react to the mouse; rebuilt only when the screen or its data changes
+    private static class StaticLayer {
 
-        g2.setColor(Color.WHITE);
-        g2.setFont(g2.getFont().deriveFont(Font.BOLD, 16f));
-        String scoreBtnText = canBuyScore ? "Buy (1 point)" : "Need Currency";
-        fm = g2.getFontMetrics();
-        g2.drawString(scoreBtnText, scoreBtnX + (buttonWidth - fm.stringWidth(scoreBtnText)) / 2, scoreY + 32);
-        buttonManager.addShopButton(new Rectangle(scoreBtnX, scoreY, buttonWidth, buttonHeight));
+        private final int[] key = new int[10];
+        private final int[] lastKey = new int[10];
+        private boolean painted;
+        private final int width;
+        private final int height;
+        private BufferedImage image;
 
-        // continue button
-        int continueButtonWidth = 350;
-        int continueButtonHeight = 60;
-        int continueButtonX = panelX + (panelWidth - continueButtonWidth) / 2;
-        int continueButtonY = Math.min(panelY + panelHeight - continueButtonHeight - 20,
-                screenHeight - continueButtonHeight - 20);
+        StaticLayer(int width, int height) {
+            this.width = width;
+            this.height = height;
+        }
 
-        // continue button is button index 7 (5 upgrades + health + score = 7)
-        boolean isContinueHovered = buttonManager.isShopButtonHovered(7);
-        g2.setColor(isContinueHovered ? CONTINUE_BG_HOVER : CONTINUE_BG);
-        g2.fillRoundRect(continueButtonX, continueButtonY, continueButtonWidth, continueButtonHeight, 10, 10);
-        g2.setColor(isContinueHovered ? CONTINUE_BORDER_HOVER : CONTINUE_BORDER);
-        g2.setStroke(new BasicStroke(isContinueHovered ? 4 : 3));
-        g2.drawRoundRect(continueButtonX, continueButtonY, continueButtonWidth, continueButtonHeight, 10, 10);
+        // zeroes and returns the key; callers fill in the screen id and every
+        // value the static layer shows, then ask isStale()
+        int[] resetKey() {
+            Arrays.fill(key, 0);
+            return key;
+        }
 
-        g2.setFont(g2.getFont().deriveFont(Font.BOLD, 24f));
-        fm = g2.getFontMetrics();
-        String continueText = "Continue to Next Wave";
-        int continueTextX = continueButtonX + (continueButtonWidth - fm.stringWidth(continueText)) / 2;
-        int continueTextY = continueButtonY + (continueButtonHeight + fm.getAscent()) / 2 - 5;
-        g2.setColor(Color.WHITE);
-        g2.drawString(continueText, continueTextX, continueTextY);
+        // compares key to what was last painted
+        boolean isStale() {
+            boolean stale = !painted || !Arrays.equals(key, lastKey);
+            if (stale) {
+                System.arraycopy(key, 0, lastKey, 0, key.length);
+                painted = true;
+            }
+            return stale;
+        }
 
-        buttonManager.addShopButton(
-                new Rectangle(continueButtonX, continueButtonY, continueButtonWidth, continueButtonHeight));
+        // returns a graphics on the layer set up like the screen graphics
+        Graphics2D begin(Graphics2D screen) {
+            if (image == null) {
+                GraphicsConfiguration config = screen.getDeviceConfiguration();
+                image = config != null
+                        ? config.createCompatibleImage(width, height, Transparency.OPAQUE)
+                        : new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            }
+            Graphics2D g2 = image.createGraphics();
+            g2.setRenderingHints(screen.getRenderingHints());
+            g2.setFont(screen.getFont());
+            return g2;
+        }
+
+        void draw(Graphics2D g2) {
+            g2.drawImage(image, 0, 0, null);
+        }
     }
 }
@@ -0,0 +1,60 @@
+/*
+Name: RepaintCoalescer.java
+Authors: Hamza Khan & Alec Li
+Date: January 16, 2026
+Description: Merges mouse-driven repaint requests so a component repaints at most once per display frame.
+*/
+
+package ui;
+
+import java.awt.Rectangle;
+import javax.swing.JComponent;
+import javax.swing.Timer;
+
+public class RepaintCoalescer {
+
+    private static final int FRAME_MS = 16; // one frame at 60 hz
+
+    private final JComponent component;
+    private final Timer timer;
+    private final Rectangle dirty = new Rectangle();
+    private boolean pending;
+    private long lastFlushMs;
+
+    public RepaintCoalescer(JComponent component) {
+        this.component = component;
+        this.timer = new Timer(FRAME_MS, e -> flush());
+        this.timer.setRepeats(false);
+    }
+
+    // queues a repaint of the given area; repaints right away if the last one
+    // was at least a frame ago, otherwise merges it into the next frame's repaint
+    // must be called on the edt
+    public void repaint(Rectangle area) {
+        if (pending) {
+            dirty.add(area);
+        } else {
+            dirty.setBounds(area);
+            pending = true;
+        }
+        if (timer.isRunning()) {
+            return;
+        }
+        long sinceLast = System.currentTimeMillis() - lastFlushMs;
+        if (sinceLast >= FRAME_MS) {
+            flush();
+        } else {
+            timer.setInitialDelay((int) (FRAME_MS - sinceLast));
+            timer.start();
+        }
+    }
+
+    private void flush() {
+        if (!pending) {
+            return;
+        }
+        pending = false;
+        lastFlushMs = System.currentTimeMillis();
+        component.repaint(dirty.x, dirty.y, dirty.width, dirty.height);
+    }
+}
@@ -11,6 +11,7 @@ import entity.Character;
 import javax.swing.JPanel;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
 import java.awt.RenderingHints;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
@@ -19,6 +20,7 @@ import java.awt.event.MouseMotionAdapter;
 public class ShopPanel extends JPanel {
 
   private final MenuRenderer menuRenderer;
+  private final RepaintCoalescer repaintCoalescer;
   private Character player;
   private int currency;
   private int score;
@@ -36,12 +38,16 @@ public class ShopPanel extends JPanel {
 
   public ShopPanel(int screenWidth, int screenHeight) {
     this.menuRenderer = new MenuRenderer(screenWidth, screenHeight);
+    this.repaintCoalescer = new RepaintCoalescer(this);
 
     addMouseMotionListener(new MouseMotionAdapter() {
       @Override
       public void mouseMoved(MouseEvent e) {
-        menuRenderer.updateHover(e.getX(), e.getY(), false, true);
-        repaint();
+        // only the buttons whose hover state changed need repainting
+        Rectangle damage = menuRenderer.updateHover(e.getX(), e.getY(), false, true);
+        if (damage != null) {
+          repaintCoalescer.repaint(damage);
+        }
       }
     });
 
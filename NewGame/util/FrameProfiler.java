@@ -0,0 +1,186 @@
+/*
+Name: FrameProfiler.java
+Authors: Hamza Khan & Alec Li
+Date: January 16, 2026
+Description: Per-phase timing of simulation steps and painted frames, rolling and per wave.
+*/
+
+package util;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+
+public class FrameProfiler {
+
+    // phases of World.step; enemies includes collisions
+    public static final int STEP = 0;
+    public static final int BEAM = 1;
+    public static final int PLAYER = 2;
+    public static final int SHOOTING = 3;
+    public static final int BULLETS = 4;
+    public static final int ENEMIES = 5;
+    public static final int COLLISIONS = 6;
+    public static final int SPAWNING = 7;
+    public static final int WAVES = 8;
+    public static final int PARTICLES = 9;
+
+    // phases of a painted frame
+    public static final int PAINT = 10;
+    public static final int BACKGROUND = 11;
+    public static final int ENTITIES = 12;
+    public static final int EFFECTS = 13;
+    public static final int HUD = 14;
+
+    // active rendering only: render plus show and sync, and the time between
+    // the starts of two presents, whose spread is the frame pacing jitter
+    public static final int PRESENT = 15;
+    public static final int FRAME_INTERVAL = 16;
+
+    public static final int PHASE_COUNT = 17;
+
+    private static final String[] NAMES = {
+            "step", "beam", "player", "shooting", "bullets", "enemies", "collisions", "spawning", "waves",
+            "particles", "paint", "background", "entities", "effects", "hud", "present", "interval"
+    };
+
+    private static final int WINDOW = 600; // ten seconds of steps at 60 tps
+    private static final int ROW_SIZE = 7; // wave, phase, samples, p50, p95, p99, max
+
+    private final TimingHistogram[] rolling = new TimingHistogram[PHASE_COUNT];
+    private final TimingHistogram[] currentWave = new TimingHistogram[PHASE_COUNT];
+    private final long[] lastNanos = new long[PHASE_COUNT]; // latest sample of each phase
+    private int wave;
+
+    // summaries of finished waves, ROW_SIZE longs per phase
+    private long[] waveRows = new long[ROW_SIZE * PHASE_COUNT * 16];
+    private int waveRowCount;
+
+    public FrameProfiler() {
+        for (int phase = 0; phase < PHASE_COUNT; phase++) {
+            rolling[phase] = new TimingHistogram(WINDOW);
+            currentWave[phase] = new TimingHistogram(0);
+        }
+    }
+
+    // records the time since startNanos against a phase
+    public void record(int phase, long startNanos) {
+        long nanos = System.nanoTime() - startNanos;
+        lastNanos[phase] = nanos;
+        rolling[phase].record(nanos);
+        currentWave[phase].record(nanos);
+    }
+
+    // records a duration measured elsewhere
+    public void recordNanos(int phase, long nanos) {
+        lastNanos[phase] = nanos;
+        rolling[phase].record(nanos);
+        currentWave[phase].record(nanos);
+    }
+
+    // records the time since startNanos and returns now, so back to back phases
+    // need one clock read each
+    public long lap(int phase, long startNanos) {
+        long now = System.nanoTime();
+        lastNanos[phase] = now - startNanos;
+        rolling[phase].record(now - startNanos);
+        currentWave[phase].record(now - startNanos);
+        return now;
+    }
+
+    // zeroes the latest sample of a range of phases, so phases skipped by the
+    // next step read as zero
+    public void clearLast(int firstPhase, int lastPhase) {
+        Arrays.fill(lastNanos, firstPhase, lastPhase + 1, 0);
+    }
+
+    public long getLastNanos(int phase) {
+        return lastNanos[phase];
+    }
+
+    // closes the per-wave table when the wave number changes
+    public void setWave(int wave) {
+        if (wave == this.wave)
+            return;
+        finishWave();
+        this.wave = wave;
+    }
+
+    // forgets everything, for a new game
+    public void clear() {
+        for (int phase = 0; phase < PHASE_COUNT; phase++) {
+            rolling[phase].clear();
+            currentWave[phase].clear();
+        }
+        wave = 0;
+        waveRowCount = 0;
+    }
+
+    public static String getName(int phase) {
+        return NAMES[phase];
+    }
+
+    // timings over the last few seconds
+    public TimingHistogram getRolling(int phase) {
+        return rolling[phase];
+    }
+
+    // copies one row per phase for every wave so far, including the current
+    // one; quick enough to take under the state lock, so the file can be written
+    // after releasing it
+    public long[] snapshotRows() {
+        long[] rows = Arrays.copyOf(waveRows, (waveRowCount + PHASE_COUNT) * ROW_SIZE);
+        int rowCount = waveRowCount;
+        for (int phase = 0; phase < PHASE_COUNT; phase++) {
+            if (summarize(phase, rows, rowCount * ROW_SIZE))
+                rowCount++;
+        }
+        return Arrays.copyOf(rows, rowCount * ROW_SIZE);
+    }
+
+    // writes rows from snapshotRows as csv; times are in microseconds
+    public static void writeCsv(Path path, long[] rows) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8))) {
+            out.println("wave,phase,samples,p50_us,p95_us,p99_us,max_us");
+            for (int offset = 0; offset < rows.length; offset += ROW_SIZE) {
+                writeRow(out, rows, offset);
+            }
+        }
+    }
+
+    private void finishWave() {
+        for (int phase = 0; phase < PHASE_COUNT; phase++) {
+            int offset = waveRowCount * ROW_SIZE;
+            if (offset + ROW_SIZE > waveRows.length)
+                waveRows = Arrays.copyOf(waveRows, waveRows.length * 2);
+            if (summarize(phase, waveRows, offset))
+                waveRowCount++;
+            currentWave[phase].clear();
+        }
+    }
+
+    // fills one row from the current wave, false if the phase never ran
+    private boolean summarize(int phase, long[] rows, int offset) {
+        TimingHistogram histogram = currentWave[phase];
+        if (histogram.getCount() == 0)
+            return false;
+        rows[offset] = wave;
+        rows[offset + 1] = phase;
+        rows[offset + 2] = histogram.getCount();
+        rows[offset + 3] = histogram.percentile(0.50);
+        rows[offset + 4] = histogram.percentile(0.95);
+        rows[offset + 5] = histogram.percentile(0.99);
+        rows[offset + 6] = histogram.max();
+        return true;
+    }
+
+    private static void writeRow(PrintWriter out, long[] rows, int offset) {
+        out.printf(Locale.ROOT, "%d,%s,%d,%.1f,%.1f,%.1f,%.1f%n", rows[offset], NAMES[(int) rows[offset + 1]],
+                rows[offset + 2], rows[offset + 3] / 1000.0, rows[offset + 4] / 1000.0, rows[offset + 5] / 1000.0,
+                rows[offset + 6] / 1000.0);
+    }
+}
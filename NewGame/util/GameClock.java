@@ -0,0 +1,35 @@
+/*
+Name: GameClock.java
+Authors: Hamza Khan & Alec Li
+Date: January 16, 2026
+Description: Simulation clock advanced by the game loop in fixed steps, replacing wall-clock reads.
+*/
+
+package util;
+
+public class GameClock {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    private long nanos; // simulated time since the clock was created
+
+    // moves simulated time forward by one step
+    public void advance(double deltaSeconds) {
+        nanos += Math.round(deltaSeconds * NANOS_PER_SECOND);
+    }
+
+    // current simulated time in nanoseconds
+    public long nanoTime() {
+        return nanos;
+    }
+
+    // current simulated time in milliseconds, drop-in for System.currentTimeMillis
+    public long millis() {
+        return nanos / NANOS_PER_MILLI;
+    }
+
+    public void reset() {
+        nanos = 0;
+    }
+}
@@ -0,0 +1,131 @@
+/*
+Name: SpatialGrid.java
+Authors: Hamza Khan & Alec Li
+Date: January 16, 2026
+Description: Uniform grid spatial hash over entity indices, rebuilt each tick with a counting sort.
+*/
+
+package util;
+
+import entity.Entity;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class SpatialGrid {
+
+    private final double invCellSize;
+    private final int columns;
+    private final int rows;
+
+    // entries of cell c are cellEntries[cellStart[c] .. cellStart[c + 1] - 1]
+    private final int[] cellStart;
+    private final int[] cellFill; // scatter cursor per cell, scratch for build()
+    private int[] cellEntries = new int[64]; // item indices grouped by cell
+    private int[] itemCells = new int[64]; // cell of each item
+    private int count;
+
+    // cellSize should be at least twice the largest radius that will be queried
+    // so that overlapping circles are always in neighbouring cells
+    public SpatialGrid(double worldWidth, double worldHeight, double cellSize) {
+        this.invCellSize = 1.0 / cellSize;
+        this.columns = Math.max(1, (int) Math.ceil(worldWidth / cellSize));
+        this.rows = Math.max(1, (int) Math.ceil(worldHeight / cellSize));
+        this.cellStart = new int[columns * rows + 1];
+        this.cellFill = new int[columns * rows];
+    }
+
+    // indexes every item by its center; item i of the list is entry i of the grid
+    public void build(List<? extends Entity> items) {
+        int n = items.size();
+        ensureCapacity(n);
+        count = n;
+
+        // counting sort: count items per cell, prefix sum, then scatter
+        Arrays.fill(cellStart, 0);
+        for (int i = 0; i < n; i++) {
+            Entity item = items.get(i);
+            int cell = rowOf(item.getY()) * columns + columnOf(item.getX());
+            itemCells[i] = cell;
+            cellStart[cell + 1]++;
+        }
+        scatter(n);
+    }
+
+    // same as build(List) for items stored as coordinate arrays; item i is
+    // (xs[i], ys[i]) for i in [0, n)
+    public void build(double[] xs, double[] ys, int n) {
+        ensureCapacity(n);
+        count = n;
+
+        Arrays.fill(cellStart, 0);
+        for (int i = 0; i < n; i++) {
+            int cell = rowOf(ys[i]) * columns + columnOf(xs[i]);
+            itemCells[i] = cell;
+            cellStart[cell + 1]++;
+        }
+        scatter(n);
+    }
+
+    // turns per-cell counts into start offsets and groups item indices by cell
+    private void scatter(int n) {
+        for (int c = 0; c < cellFill.length; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+        // scatter front to back so each cell lists its items in ascending order
+        System.arraycopy(cellStart, 0, cellFill, 0, cellFill.length);
+        for (int i = 0; i < n; i++) {
+            cellEntries[cellFill[itemCells[i]]++] = i;
+        }
+    }
+
+    private void ensureCapacity(int n) {
+        if (cellEntries.length < n) {
+            int capacity = Math.max(n, cellEntries.length * 2);
+            cellEntries = new int[capacity];
+            itemCells = new int[capacity];
+        }
+    }
+
+    // column of a world x coordinate, clamped to the grid
+    public int columnOf(double x) {
+        return Utils.clamp((int) (x * invCellSize), 0, columns - 1);
+    }
+
+    // row of a world y coordinate, clamped to the grid
+    public int rowOf(double y) {
+        return Utils.clamp((int) (y * invCellSize), 0, rows - 1);
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    // first position in the entry array for the given cell
+    public int cellStart(int column, int row) {
+        return cellStart[row * columns + column];
+    }
+
+    // one past the last position in the entry array for the given cell
+    public int cellEnd(int column, int row) {
+        return cellStart[row * columns + column + 1];
+    }
+
+    // flat cell index (row * columns + column) the given item was indexed in
+    public int cellOfItem(int item) {
+        return itemCells[item];
+    }
+
+    // item index stored at the given position of the entry array
+    public int entryAt(int position) {
+        return cellEntries[position];
+    }
+
+    public int size() {
+        return count;
+    }
+}
@@ -0,0 +1,69 @@
+/*
+Name: TickScalingLog.java
+Authors: Hamza Khan & Alec Li
+Date: January 16, 2026
+Description: Rolling log of average tick time against enemy count, for the stress mode readout.
+*/
+
+package util;
+
+public class TickScalingLog {
+
+    private static final int TICKS_PER_POINT = 15; // four points a second at 60 tps
+    private static final int MAX_POINTS = 240; // the last minute
+
+    private final int[] enemyCounts = new int[MAX_POINTS];
+    private final long[] tickNanos = new long[MAX_POINTS];
+    private int pointCount;
+    private int nextPoint;
+    private long pointsAdded; // changes whenever a point is added, for redraw checks
+
+    // ticks averaged into the point being built
+    private long pendingNanos;
+    private int pendingTicks;
+
+    // adds one tick; every few ticks their average becomes a point, paired with
+    // the enemy count at the end
+    public void record(int enemyCount, long nanos) {
+        pendingNanos += nanos;
+        pendingTicks++;
+        if (pendingTicks < TICKS_PER_POINT)
+            return;
+
+        enemyCounts[nextPoint] = enemyCount;
+        tickNanos[nextPoint] = pendingNanos / pendingTicks;
+        nextPoint = (nextPoint + 1) % MAX_POINTS;
+        pointCount = Math.min(pointCount + 1, MAX_POINTS);
+        pointsAdded++;
+        pendingNanos = 0;
+        pendingTicks = 0;
+    }
+
+    public void clear() {
+        pointCount = 0;
+        nextPoint = 0;
+        pendingNanos = 0;
+        pendingTicks = 0;
+    }
+
+    public int getPointCount() {
+        return pointCount;
+    }
+
+    public long getPointsAdded() {
+        return pointsAdded;
+    }
+
+    // points are indexed from oldest to newest
+    public int getEnemyCount(int point) {
+        return enemyCounts[indexOf(point)];
+    }
+
+    public long getTickNanos(int point) {
+        return tickNanos[indexOf(point)];
+    }
+
+    private int indexOf(int point) {
+        return (nextPoint - pointCount + point + MAX_POINTS) % MAX_POINTS;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+Name: TimingHistogram.java
+Authors: Hamza Khan & Alec Li
+Date: January 16, 2026
+Description: Fixed-size log-linear histogram of durations, over a rolling window or everything since the last clear.
+*/
+
+package util;
+
+import java.util.Arrays;
+
+public class TimingHistogram {
+
+    // each power of two is split into 8 buckets, so a percentile is within
+    // 12.5% of the true value, which is plenty for spotting a slow phase
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final int[] counts = new int[BUCKETS];
+    private final long[] window; // last samples in arrival order, null when unbounded
+    private int next; // where the next sample goes in the window
+    private int count;
+    private long max; // only tracked for unbounded histograms, windows rescan
+
+    // window is how many recent samples to keep, 0 to keep everything until clear
+    public TimingHistogram(int window) {
+        this.window = window > 0 ? new long[window] : null;
+    }
+
+    public void record(long nanos) {
+        if (nanos < 0)
+            nanos = 0;
+        if (window != null) {
+            if (count == window.length) {
+                counts[bucketOf(window[next])]--;
+            } else {
+                count++;
+            }
+            window[next] = nanos;
+            next = (next + 1) % window.length;
+        } else {
+            count++;
+            max = Math.max(max, nanos);
+        }
+        counts[bucketOf(nanos)]++;
+    }
+
+    // smallest bucket bound that at least the given fraction of samples fall
+    // under, capped at the largest sample
+    public long percentile(double fraction) {
+        if (count == 0)
+            return 0;
+        long target = Math.max(1, (long) Math.ceil(fraction * count));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += counts[bucket];
+            if (seen >= target)
+                return Math.min(upperBoundOf(bucket), max());
+        }
+        return max();
+    }
+
+    public long max() {
+        if (window == null)
+            return max;
+        long largest = 0;
+        for (int i = 0; i < count; i++) {
+            largest = Math.max(largest, window[i]);
+        }
+        return largest;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public void clear() {
+        Arrays.fill(counts, 0);
+        next = 0;
+        count = 0;
+        max = 0;
+    }
+
+    // values below 8 get a bucket each, above that the top bit picks the row and
+    // the next three bits the bucket within it
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS)
+            return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int mantissa = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + mantissa;
+    }
+
+    private static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS)
+            return bucket;
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long mantissa = bucket % SUB_BUCKETS;
+        int shift = exponent - SUB_BUCKET_BITS;
+        return ((SUB_BUCKETS + mantissa + 1) << shift) - 1;
+    }
+}